@@ -0,0 +1,77 @@
+package com.sivalabs.ft.features;
+
+import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.entities.Feature;
+import com.sivalabs.ft.features.domain.entities.Release;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import com.sivalabs.ft.features.domain.models.ReleaseStatus;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test data shaped like the production data set, shared by the benchmarks.
+ */
+public final class BenchmarkFixtures {
+    private static final Instant CREATED_AT = Instant.parse("2024-03-01T10:15:30Z");
+
+    private BenchmarkFixtures() {}
+
+    public static Release release() {
+        Release release = new Release();
+        release.setId(1L);
+        release.setCode("IDEA-2024.2.3");
+        release.setDescription("IntelliJ IDEA 2024.2.3");
+        release.setStatus(ReleaseStatus.RELEASED);
+        release.setCreatedBy("admin");
+        release.setCreatedAt(CREATED_AT);
+        return release;
+    }
+
+    public static Feature feature(long id, Release release) {
+        Feature feature = new Feature();
+        feature.setId(id);
+        feature.setCode("IDEA-" + id);
+        feature.setTitle("Support for structured concurrency in the debugger #" + id);
+        feature.setDescription("Show the scope tree of structured tasks in the debugger's threads view, "
+                + "including subtask states and the owning thread.");
+        feature.setStatus(FeatureStatus.IN_PROGRESS);
+        feature.setRelease(release);
+        feature.setAssignedTo("john.doe");
+        feature.setCreatedBy("admin");
+        feature.setCreatedAt(CREATED_AT);
+        feature.setUpdatedBy("jane.doe");
+        feature.setUpdatedAt(CREATED_AT.plusSeconds(id));
+        feature.setCommentCount((int) (id % 7));
+        feature.setLastCommentedAt(CREATED_AT.plusSeconds(2 * id));
+        return feature;
+    }
+
+    public static List<Feature> features(int count) {
+        Release release = release();
+        List<Feature> features = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            features.add(feature(i, release));
+        }
+        return features;
+    }
+
+    public static FeatureDto featureDto(long id) {
+        Feature feature = feature(id, release());
+        return new FeatureDto(
+                feature.getId(),
+                feature.getCode(),
+                feature.getTitle(),
+                feature.getDescription(),
+                feature.getStatus(),
+                feature.getRelease().getCode(),
+                id % 3 == 0,
+                feature.getAssignedTo(),
+                feature.getCreatedBy(),
+                feature.getCreatedAt(),
+                feature.getUpdatedBy(),
+                feature.getUpdatedAt(),
+                feature.getCommentCount(),
+                feature.getLastCommentedAt());
+    }
+}
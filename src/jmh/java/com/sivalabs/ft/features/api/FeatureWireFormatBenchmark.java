@@ -0,0 +1,95 @@
+package com.sivalabs.ft.features.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sivalabs.ft.features.BenchmarkFixtures;
+import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serializes and parses a feature listing in each wire format the API can negotiate. The payload size of every
+ * format and list size is reported as the {@code payloadBytes} counter of {@link #serialize(PayloadSize)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FeatureWireFormatBenchmark {
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    @Param({"10", "1000", "50000"})
+    int size;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<FeatureDto> features;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper =
+                Jackson2ObjectMapperBuilder.json().factory(factory()).build();
+        CollectionType type = objectMapper.getTypeFactory().constructCollectionType(List.class, FeatureDto.class);
+        writer = objectMapper.writerFor(type);
+        reader = objectMapper.readerFor(type);
+        features = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            features.add(BenchmarkFixtures.featureDto(i));
+        }
+        payload = writer.writeValueAsBytes(features);
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadSize payloadSize) throws IOException {
+        byte[] bytes = writer.writeValueAsBytes(features);
+        payloadSize.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<FeatureDto> deserialize() throws IOException {
+        return reader.readValue(payload);
+    }
+
+    /**
+     * Size in bytes of the serialized listing, reported next to the timings.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+
+    private JsonFactory factory() {
+        return switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+}
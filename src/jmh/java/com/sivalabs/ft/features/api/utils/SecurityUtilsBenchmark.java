@@ -0,0 +1,112 @@
+package com.sivalabs.ft.features.api.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Resolves the current user from a Keycloak-style access token, with the claims and roles a real token carries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SecurityUtilsBenchmark {
+
+    @Setup
+    public void setUp() {
+        Instant issuedAt = Instant.now();
+        Jwt jwt = Jwt.withTokenValue(tokenValue())
+                .header("alg", "RS256")
+                .header("typ", "JWT")
+                .header("kid", "mBVg2XmNRbXwhYHB7ZHxYdOxhaJ6nW8wrvRlcNbTS0I")
+                .issuer("http://localhost:9191/realms/feature-tracker")
+                .subject("4d3c4b2a-9f3e-4a7e-8c1d-2f6a5b4c3d2e")
+                .audience(List.of("account", "feature-service"))
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(300))
+                .claim("jti", "onrtac:2f2c6f2e-0b8e-4a7c-9d57-8f0c0f3a1b2c")
+                .claim("typ", "Bearer")
+                .claim("azp", "feature-tracker-ui")
+                .claim("sid", "9a0f9e5e-1c2d-4b6f-8e7a-3c4d5e6f7a8b")
+                .claim("scope", "openid profile email")
+                .claim("email_verified", true)
+                .claim("preferred_username", "siva")
+                .claim("email", "siva@gmail.com")
+                .claim("name", "Siva Prasad")
+                .claim("given_name", "Siva")
+                .claim("family_name", "Prasad")
+                .claim(
+                        "realm_access",
+                        Map.of("roles", List.of("default-roles-feature-tracker", "offline_access", "uma_authorization")))
+                .claim(
+                        "resource_access",
+                        Map.of("account", Map.of("roles", List.of("manage-account", "view-profile"))))
+                .build();
+        var authorities = AuthorityUtils.createAuthorityList("SCOPE_openid", "SCOPE_profile", "SCOPE_email");
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, authorities));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public String getCurrentUsername() {
+        return SecurityUtils.getCurrentUsername();
+    }
+
+    /**
+     * Repeated lookups within one request, which reuse the user resolved by the first.
+     */
+    @Benchmark
+    public String getCurrentUsernameWithinRequest(RequestState request) {
+        return SecurityUtils.getCurrentUsername();
+    }
+
+    @State(Scope.Thread)
+    public static class RequestState {
+        @Setup
+        public void setUp() {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        }
+
+        @TearDown
+        public void tearDown() {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static String tokenValue() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"RS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString("x".repeat(900).getBytes(StandardCharsets.UTF_8));
+        String signature = encoder.encodeToString(new byte[256]);
+        return header + "." + payload + "." + signature;
+    }
+}
@@ -0,0 +1,63 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.models.UserFavoriteFeature;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building the favorite-status map from the repository rows; the repository is stubbed out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FavoriteFeatureServiceBenchmark {
+    @Param({"10", "100", "1000"})
+    int size;
+
+    private FavoriteFeatureService favoriteFeatureService;
+    private Set<String> featureCodes;
+
+    @Setup
+    public void setUp() {
+        List<UserFavoriteFeature> rows = new ArrayList<>(size);
+        featureCodes = new HashSet<>();
+        for (int i = 1; i <= size; i++) {
+            rows.add(new UserFavoriteFeature((long) i, "IDEA-" + i, i % 3 == 0));
+            featureCodes.add("IDEA-" + i);
+        }
+        FavoriteFeatureRepository repository = (FavoriteFeatureRepository) Proxy.newProxyInstance(
+                FavoriteFeatureRepository.class.getClassLoader(),
+                new Class<?>[] {FavoriteFeatureRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByUserIdAndFeatureCodes")) {
+                        return rows;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        favoriteFeatureService = new FavoriteFeatureService(repository, null);
+    }
+
+    @Benchmark
+    public Map<String, Boolean> getFavoriteFeatures() {
+        return favoriteFeatureService.getFavoriteFeatures("siva", featureCodes);
+    }
+}
@@ -0,0 +1,92 @@
+package com.sivalabs.ft.features.domain.events;
+
+import com.sivalabs.ft.features.ApplicationProperties.EventsProperties;
+import com.sivalabs.ft.features.BenchmarkFixtures;
+import com.sivalabs.ft.features.domain.entities.Feature;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Builds and serializes feature events through a real {@link KafkaTemplate}; the producer serializes the record
+ * with the application's serializers and acknowledges it without any network I/O.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventPublisherBenchmark {
+    private EventPublisher eventPublisher;
+    private Feature feature;
+
+    @Setup
+    public void setUp() {
+        SerializingProducer producer = new SerializingProducer();
+        KafkaTemplate<String, Object> kafkaTemplate = new KafkaTemplate<>(() -> producer);
+        EventsProperties topics = new EventsProperties("new_features", "updated_features", "deleted_features");
+        eventPublisher = new EventPublisher(kafkaTemplate, topics);
+        feature = BenchmarkFixtures.feature(42, BenchmarkFixtures.release());
+    }
+
+    @Benchmark
+    public void publishFeatureCreatedEvent() {
+        eventPublisher.publishFeatureCreatedEvent(feature);
+    }
+
+    @Benchmark
+    public void publishFeatureUpdatedEvent() {
+        eventPublisher.publishFeatureUpdatedEvent(feature);
+    }
+
+    static class SerializingProducer extends MockProducer<String, Object> {
+        private final StringSerializer keySerializer = new StringSerializer();
+        private final JsonSerializer<Object> valueSerializer = new JsonSerializer<>();
+
+        SerializingProducer() {
+            super(true, new StringSerializer(), new JsonSerializer<>());
+        }
+
+        @Override
+        public synchronized Future<RecordMetadata> send(ProducerRecord<String, Object> record, Callback callback) {
+            byte[] key = keySerializer.serialize(record.topic(), record.headers(), record.key());
+            byte[] value = valueSerializer.serialize(record.topic(), record.headers(), record.value());
+            RecordMetadata metadata = new RecordMetadata(
+                    new TopicPartition(record.topic(), 0),
+                    0,
+                    0,
+                    System.currentTimeMillis(),
+                    key == null ? -1 : key.length,
+                    value.length);
+            if (callback != null) {
+                callback.onCompletion(metadata, null);
+            }
+            return CompletableFuture.completedFuture(metadata);
+        }
+
+        @Override
+        public void close(Duration timeout) {
+            // the template closes its producer after every send
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.sivalabs.ft.features.domain.mappers;
+
+import com.sivalabs.ft.features.BenchmarkFixtures;
+import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.entities.Feature;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FeatureMapperBenchmark {
+    private final FeatureMapper featureMapper = new FeatureMapperImpl();
+    private Feature feature;
+    private FeatureDto featureDto;
+
+    @Setup
+    public void setUp() {
+        feature = BenchmarkFixtures.feature(42, BenchmarkFixtures.release());
+        featureDto = featureMapper.toDto(feature);
+    }
+
+    @Benchmark
+    public FeatureDto toDto() {
+        return featureMapper.toDto(feature);
+    }
+
+    @Benchmark
+    public FeatureDto makeFavorite() {
+        return featureDto.makeFavorite(true);
+    }
+}
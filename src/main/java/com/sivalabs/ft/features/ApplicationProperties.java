@@ -1,9 +1,94 @@
 package com.sivalabs.ft.features;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
 
 @ConfigurationProperties(prefix = "ft")
-public record ApplicationProperties(EventsProperties events) {
+public record ApplicationProperties(
+        EventsProperties events,
+        @DefaultValue CommentStreamProperties commentStream,
+        @DefaultValue ReplicasProperties replicas,
+        @DefaultValue SlowQueryProperties slowQuery,
+        @DefaultValue SqlBudgetProperties sqlBudget,
+        @DefaultValue DbBulkheadProperties dbBulkhead,
+        @DefaultValue ConcurrencyLimitProperties concurrencyLimit,
+        @DefaultValue JwtCacheProperties jwtCache,
+        @DefaultValue ResponseCacheProperties responseCache,
+        @DefaultValue GraphQlProperties graphql,
+        @DefaultValue FeatureSyncProperties featureSync,
+        @DefaultValue FeatureStreamProperties featureStream) {
 
     public record EventsProperties(String newFeatures, String updatedFeatures, String deletedFeatures) {}
+
+    public record CommentStreamProperties(
+            @DefaultValue("256") int bufferSize,
+            @DefaultValue("30m") Duration timeout,
+            @DefaultValue("30s") Duration heartbeatInterval,
+            @DefaultValue("16") int shards,
+            @DefaultValue("10s") Duration writeTimeout) {}
+
+    public record ReplicasProperties(
+            @DefaultValue List<String> urls,
+            String username,
+            String password,
+            @DefaultValue("2s") Duration readYourWritesWindow) {}
+
+    public record SlowQueryProperties(
+            @DefaultValue("500ms") Duration threshold,
+            @DefaultValue("1.0") double sampleRate,
+            @DefaultValue("false") boolean logParameters) {}
+
+    public record SqlBudgetProperties(
+            @DefaultValue("20") int defaultBudget,
+            @DefaultValue Map<String, Integer> endpoints,
+            @DefaultValue("false") boolean failOnExceed) {}
+
+    public record DbBulkheadProperties(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("0") int maxConcurrent,
+            @DefaultValue("30s") Duration acquireTimeout) {}
+
+    public record ConcurrencyLimitProperties(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue LimitProperties reads,
+            @DefaultValue LimitProperties writes,
+            @DefaultValue("0.9") double backoffRatio,
+            @DefaultValue("1s") Duration retryAfter) {
+
+        public record LimitProperties(
+                @DefaultValue("20") int initialLimit,
+                @DefaultValue("4") int minLimit,
+                @DefaultValue("200") int maxLimit,
+                @DefaultValue("500ms") Duration targetLatency) {}
+    }
+
+    public record JwtCacheProperties(@DefaultValue("true") boolean enabled, @DefaultValue("10000") long maximumSize) {}
+
+    public record ResponseCacheProperties(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("64MB") DataSize maximumSize,
+            @DefaultValue("60s") Duration timeToLive,
+            @DefaultValue("10s") Duration maxAge,
+            @DefaultValue("1KB") DataSize compressionThreshold) {}
+
+    public record GraphQlProperties(
+            @DefaultValue("8") int maxDepth,
+            @DefaultValue("2000") int maxComplexity,
+            @DefaultValue("5") int listFanOut,
+            @DefaultValue("10") int commentsPerFeature,
+            @DefaultValue("100") int featuresPerProduct) {}
+
+    public record FeatureSyncProperties(
+            @DefaultValue("P30D") Duration tombstoneRetention, @DefaultValue("PT1H") Duration purgeInterval) {}
+
+    public record FeatureStreamProperties(
+            @DefaultValue("64") int bufferSize,
+            @DefaultValue("1h") Duration timeout,
+            @DefaultValue("30s") Duration heartbeatInterval,
+            @DefaultValue("16") int shards,
+            @DefaultValue("10s") Duration writeTimeout) {}
 }
@@ -0,0 +1,90 @@
+package com.sivalabs.ft.features.api.controllers;
+
+import com.sivalabs.ft.features.api.utils.SecurityUtils;
+import com.sivalabs.ft.features.config.AnonymousResponseCacheFilter;
+import com.sivalabs.ft.features.domain.BulkDataService;
+import com.sivalabs.ft.features.domain.dtos.FeatureImportDto;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import com.sivalabs.ft.features.domain.models.ExportDataset;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Bulk Data API")
+class BulkDataController {
+    private static final Logger log = LoggerFactory.getLogger(BulkDataController.class);
+    private static final String TEXT_CSV = "text/csv";
+
+    private final BulkDataService bulkDataService;
+    private final ObjectProvider<AnonymousResponseCacheFilter> responseCache;
+
+    BulkDataController(BulkDataService bulkDataService, ObjectProvider<AnonymousResponseCacheFilter> responseCache) {
+        this.bulkDataService = bulkDataService;
+        this.responseCache = responseCache;
+    }
+
+    @GetMapping(value = "/exports/{dataset}", produces = TEXT_CSV)
+    @Operation(
+            summary = "Export a dataset",
+            description = "Streams all features, comments or favorites as CSV with a header",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Successful response"),
+                @ApiResponse(responseCode = "400", description = "Unknown dataset"),
+                @ApiResponse(responseCode = "403", description = "Not an admin")
+            })
+    void exportDataset(@PathVariable String dataset, HttpServletResponse response) throws IOException {
+        ExportDataset exportDataset = Arrays.stream(ExportDataset.values())
+                .filter(candidate -> candidate.name().equalsIgnoreCase(dataset))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Unknown dataset " + dataset));
+        String fileName = exportDataset.name().toLowerCase(Locale.ROOT) + ".csv";
+        response.setContentType(TEXT_CSV);
+        response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+        bulkDataService.export(exportDataset, response.getOutputStream());
+    }
+
+    @PostMapping(value = "/imports/features", consumes = TEXT_CSV)
+    @Operation(
+            summary = "Import features",
+            description =
+                    "Imports features from CSV in the layout of the features export. Rows with a code update that feature, rows without one create a feature.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = FeatureImportDto.class))),
+                @ApiResponse(responseCode = "400", description = "Malformed or invalid rows, nothing imported"),
+                @ApiResponse(responseCode = "403", description = "Not an admin")
+            })
+    FeatureImportDto importFeatures(InputStream csv) {
+        String username = SecurityUtils.getCurrentUsername();
+        FeatureImportDto result = bulkDataService.importFeatures(username, csv);
+        responseCache.ifAvailable(AnonymousResponseCacheFilter::invalidateAll);
+        log.info("Imported features by user {}: {}", username, result);
+        return result;
+    }
+}
@@ -1,20 +1,27 @@
 package com.sivalabs.ft.features.api.controllers;
 
+import com.sivalabs.ft.features.ApplicationProperties;
 import com.sivalabs.ft.features.api.models.AddCommentPayload;
 import com.sivalabs.ft.features.api.utils.SecurityUtils;
 import com.sivalabs.ft.features.domain.Commands.CreateCommentCommand;
 import com.sivalabs.ft.features.domain.CommentService;
 import com.sivalabs.ft.features.domain.dtos.CommentDto;
+import com.sivalabs.ft.features.domain.events.CommentStreamEvent;
+import com.sivalabs.ft.features.domain.events.CommentStreamHub;
+import com.sivalabs.ft.features.domain.events.StreamSink;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
@@ -23,9 +30,14 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 class CommentController {
     private static final Logger log = LoggerFactory.getLogger(CommentController.class);
     private final CommentService commentService;
+    private final CommentStreamHub commentStreamHub;
+    private final ApplicationProperties properties;
 
-    CommentController(CommentService commentService) {
+    CommentController(
+            CommentService commentService, CommentStreamHub commentStreamHub, ApplicationProperties properties) {
         this.commentService = commentService;
+        this.commentStreamHub = commentStreamHub;
+        this.properties = properties;
     }
 
     @PostMapping
@@ -87,4 +99,37 @@ class CommentController {
         log.info("Retrieved {} comments for feature code: {}", comments.size(), featureCode);
         return ResponseEntity.ok(comments);
     }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream comments by feature code",
+            description = "Push newly created and removed comments of a feature as Server-Sent Events",
+            responses = {@ApiResponse(responseCode = "200", description = "Comment stream opened")})
+    SseEmitter streamComments(@RequestParam String featureCode) {
+        SseEmitter emitter = new SseEmitter(properties.commentStream().timeout().toMillis());
+        var subscription = commentStreamHub.subscribe(featureCode, new StreamSink<>() {
+            @Override
+            public void send(CommentStreamEvent event) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.comment().id()))
+                        .name(event.type().name())
+                        .data(event.comment(), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+
+            @Override
+            public void abort() {
+                emitter.completeWithError(new IOException("Comment stream write timed out"));
+            }
+        });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        log.debug("Opened comment stream for feature code: {}", featureCode);
+        return emitter;
+    }
 }
@@ -1,5 +1,6 @@
 package com.sivalabs.ft.features.api.controllers;
 
+import com.sivalabs.ft.features.ApplicationProperties;
 import com.sivalabs.ft.features.api.models.CreateFeaturePayload;
 import com.sivalabs.ft.features.api.models.UpdateFeaturePayload;
 import com.sivalabs.ft.features.api.utils.SecurityUtils;
@@ -7,7 +8,12 @@ import com.sivalabs.ft.features.domain.*;
 import com.sivalabs.ft.features.domain.Commands.CreateFeatureCommand;
 import com.sivalabs.ft.features.domain.Commands.DeleteFeatureCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateFeatureCommand;
+import com.sivalabs.ft.features.domain.dtos.FeatureChangesDto;
 import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.events.FeatureStreamEvent;
+import com.sivalabs.ft.features.domain.events.StreamSink;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -16,15 +22,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -35,6 +42,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
@@ -43,17 +51,17 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 class FeatureController {
     private static final Logger log = LoggerFactory.getLogger(FeatureController.class);
     private final FeatureService featureService;
-    private final FavoriteFeatureService favoriteFeatureService;
+    private final ApplicationProperties properties;
 
-    FeatureController(FeatureService featureService, FavoriteFeatureService favoriteFeatureService) {
+    FeatureController(FeatureService featureService, ApplicationProperties properties) {
         this.featureService = featureService;
-        this.favoriteFeatureService = favoriteFeatureService;
+        this.properties = properties;
     }
 
     @GetMapping("")
     @Operation(
             summary = "Find features by product or release",
-            description = "Find features by product or release",
+            description = "Find features of a product or release, optionally filtered and sorted",
             responses = {
                 @ApiResponse(
                         responseCode = "200",
@@ -61,34 +69,103 @@ class FeatureController {
                         content =
                                 @Content(
                                         mediaType = "application/json",
-                                        array = @ArraySchema(schema = @Schema(implementation = FeatureDto.class))))
+                                        array = @ArraySchema(schema = @Schema(implementation = FeatureDto.class)))),
+                @ApiResponse(responseCode = "400", description = "Invalid filter or sort")
             })
     List<FeatureDto> getFeatures(
             @RequestParam(value = "productCode", required = false) String productCode,
-            @RequestParam(value = "releaseCode", required = false) String releaseCode) {
-        // Only one of productCode or releaseCode should be provided
-        if ((StringUtils.isBlank(productCode) && StringUtils.isBlank(releaseCode))
-                || (StringUtils.isNotBlank(productCode) && StringUtils.isNotBlank(releaseCode))) {
-            // TODO: Return 400 Bad Request
-            return List.of();
+            @RequestParam(value = "releaseCode", required = false) String releaseCode,
+            @RequestParam(value = "status", required = false) Set<FeatureStatus> statuses,
+            @RequestParam(value = "assignedTo", required = false) String assignedTo,
+            @RequestParam(value = "createdBy", required = false) String createdBy,
+            @RequestParam(value = "createdFrom", required = false) Instant createdFrom,
+            @RequestParam(value = "createdTo", required = false) Instant createdTo,
+            @RequestParam(value = "unreleased", defaultValue = "false") boolean unreleased,
+            Sort sort) {
+        if (StringUtils.isBlank(productCode) == StringUtils.isBlank(releaseCode)) {
+            throw new BadRequestException("Exactly one of productCode or releaseCode is required");
         }
-        String username = SecurityUtils.getCurrentUsername();
-        List<FeatureDto> featureDtos;
-        if (StringUtils.isNotBlank(productCode)) {
-            featureDtos = featureService.findFeaturesByProduct(username, productCode);
-        } else {
-            featureDtos = featureService.findFeaturesByRelease(username, releaseCode);
+        if (unreleased && StringUtils.isNotBlank(releaseCode)) {
+            throw new BadRequestException("unreleased can only be combined with productCode");
         }
+        var filter = new FeatureFilter(
+                StringUtils.trimToNull(productCode),
+                StringUtils.trimToNull(releaseCode),
+                statuses,
+                StringUtils.trimToNull(assignedTo),
+                StringUtils.trimToNull(createdBy),
+                createdFrom,
+                createdTo,
+                unreleased);
+        return featureService.findFeatures(SecurityUtils.getCurrentUsername(), filter, sort);
+    }
 
-        if (username != null && !featureDtos.isEmpty()) {
-            Set<String> featureCodes =
-                    featureDtos.stream().map(FeatureDto::code).collect(Collectors.toSet());
-            Map<String, Boolean> favoriteFeatures = favoriteFeatureService.getFavoriteFeatures(username, featureCodes);
-            featureDtos = featureDtos.stream()
-                    .map(featureDto -> featureDto.makeFavorite(favoriteFeatures.get(featureDto.code())))
-                    .toList();
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Find features of a product changed since a sync token",
+            description = "Find features of a product created, updated or deleted since the token of the previous sync",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = FeatureChangesDto.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid sync token"),
+                @ApiResponse(responseCode = "404", description = "Product not found")
+            })
+    ResponseEntity<FeatureChangesDto> getFeatureChanges(
+            @RequestParam("productCode") String productCode,
+            @RequestParam(value = "since", required = false) String since) {
+        String username = SecurityUtils.getCurrentUsername();
+        return featureService
+                .findFeatureChanges(username, productCode, since)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream feature changes by product or release",
+            description = "Push created, updated and deleted features of a product or release as Server-Sent Events",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Feature stream opened"),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Neither or both of productCode and releaseCode given"),
+                @ApiResponse(responseCode = "404", description = "Product or release not found")
+            })
+    SseEmitter streamFeatures(
+            @RequestParam(value = "productCode", required = false) String productCode,
+            @RequestParam(value = "releaseCode", required = false) String releaseCode) {
+        if (StringUtils.isBlank(productCode) == StringUtils.isBlank(releaseCode)) {
+            throw new BadRequestException("Exactly one of productCode or releaseCode is required");
         }
-        return featureDtos;
+        SseEmitter emitter = new SseEmitter(properties.featureStream().timeout().toMillis());
+        var subscription = featureService.subscribeToFeatureChanges(
+                StringUtils.trimToNull(productCode), StringUtils.trimToNull(releaseCode), new StreamSink<>() {
+                    @Override
+                    public void send(FeatureStreamEvent event) throws IOException {
+                        emitter.send(
+                                SseEmitter.event().name(event.type().name()).data(event, MediaType.APPLICATION_JSON));
+                    }
+
+                    @Override
+                    public void heartbeat() throws IOException {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+
+                    @Override
+                    public void abort() {
+                        emitter.completeWithError(new IOException("Feature stream write timed out"));
+                    }
+                });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        log.debug("Opened feature stream for product code: {}, release code: {}", productCode, releaseCode);
+        return emitter;
     }
 
     @GetMapping("/{code}")
@@ -107,15 +184,8 @@ class FeatureController {
             })
     ResponseEntity<FeatureDto> getFeature(@PathVariable String code) {
         String username = SecurityUtils.getCurrentUsername();
-        Optional<FeatureDto> featureDtoOptional = featureService.findFeatureByCode(username, code);
-        if (username != null && featureDtoOptional.isPresent()) {
-            FeatureDto featureDto = featureDtoOptional.get();
-            Set<String> featureCodes = Set.of(featureDto.code());
-            Map<String, Boolean> favoriteFeatures = favoriteFeatureService.getFavoriteFeatures(username, featureCodes);
-            featureDto = featureDto.makeFavorite(favoriteFeatures.get(featureDto.code()));
-            featureDtoOptional = Optional.of(featureDto);
-        }
-        return featureDtoOptional
+        return featureService
+                .findFeatureByCode(username, code)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -187,12 +257,10 @@ class FeatureController {
                 @ApiResponse(responseCode = "400", description = "Invalid request"),
                 @ApiResponse(responseCode = "401", description = "Unauthorized"),
                 @ApiResponse(responseCode = "403", description = "Forbidden"),
+                @ApiResponse(responseCode = "404", description = "Feature not found"),
             })
     ResponseEntity<Void> deleteFeature(@PathVariable String code) {
         var username = SecurityUtils.getCurrentUsername();
-        if (!featureService.isFeatureExists(code)) {
-            return ResponseEntity.notFound().build();
-        }
         var cmd = new DeleteFeatureCommand(code, username);
         featureService.deleteFeature(cmd);
         return ResponseEntity.ok().build();
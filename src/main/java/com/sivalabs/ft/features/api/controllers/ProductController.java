@@ -7,6 +7,7 @@ import com.sivalabs.ft.features.domain.Commands.CreateProductCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateProductCommand;
 import com.sivalabs.ft.features.domain.ProductService;
 import com.sivalabs.ft.features.domain.dtos.ProductDto;
+import com.sivalabs.ft.features.domain.dtos.ProductOverviewDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -78,6 +79,27 @@ class ProductController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{code}/overview")
+    @Operation(
+            summary = "Get product overview",
+            description = "Get the product with its releases and the number of features of each release by status",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ProductOverviewDto.class))),
+                @ApiResponse(responseCode = "404", description = "Product not found")
+            })
+    ResponseEntity<ProductOverviewDto> getProductOverview(@PathVariable String code) {
+        return productService
+                .findProductOverview(code)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping("")
     @Operation(
             summary = "Create a new product",
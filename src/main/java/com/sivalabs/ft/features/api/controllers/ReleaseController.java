@@ -56,7 +56,7 @@ class ReleaseController {
                                         array = @ArraySchema(schema = @Schema(implementation = ReleaseDto.class))))
             })
     List<ReleaseDto> getProductReleases(@RequestParam("productCode") String productCode) {
-        return releaseService.findReleasesByProductCode(productCode);
+        return releaseService.findReleasesWithStatsByProductCode(productCode);
     }
 
     @GetMapping("/{code}")
@@ -75,7 +75,7 @@ class ReleaseController {
             })
     ResponseEntity<ReleaseDto> getRelease(@PathVariable String code) {
         return releaseService
-                .findReleaseByCode(code)
+                .findReleaseWithStatsByCode(code)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
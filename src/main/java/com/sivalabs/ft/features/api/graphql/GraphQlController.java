@@ -0,0 +1,126 @@
+package com.sivalabs.ft.features.api.graphql;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.api.utils.SecurityUtils;
+import com.sivalabs.ft.features.domain.CommentService;
+import com.sivalabs.ft.features.domain.FavoriteFeatureService;
+import com.sivalabs.ft.features.domain.FeatureService;
+import com.sivalabs.ft.features.domain.ProductService;
+import com.sivalabs.ft.features.domain.ReleaseService;
+import com.sivalabs.ft.features.domain.dtos.CommentDto;
+import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.dtos.ProductDto;
+import com.sivalabs.ft.features.domain.dtos.ReleaseDto;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Serves {@code /graphql} from the domain services, so that a client can render a whole product page with one
+ * request.
+ * <p>
+ * Products and releases come from the reference data snapshot. Nested features, comments and favorite flags are
+ * {@link BatchMapping batch mapped}: however many releases or features a query selects, each of them is loaded
+ * with one SQL statement per query level.
+ */
+@Controller
+class GraphQlController {
+    private final ProductService productService;
+    private final ReleaseService releaseService;
+    private final FeatureService featureService;
+    private final FavoriteFeatureService favoriteFeatureService;
+    private final CommentService commentService;
+    private final int commentsPerFeature;
+    private final int featuresPerProduct;
+
+    GraphQlController(
+            ProductService productService,
+            ReleaseService releaseService,
+            FeatureService featureService,
+            FavoriteFeatureService favoriteFeatureService,
+            CommentService commentService,
+            ApplicationProperties properties) {
+        this.productService = productService;
+        this.releaseService = releaseService;
+        this.featureService = featureService;
+        this.favoriteFeatureService = favoriteFeatureService;
+        this.commentService = commentService;
+        this.commentsPerFeature = properties.graphql().commentsPerFeature();
+        this.featuresPerProduct = properties.graphql().featuresPerProduct();
+    }
+
+    @QueryMapping
+    List<ProductDto> products() {
+        return productService.findAllProducts();
+    }
+
+    @QueryMapping
+    ProductDto product(@Argument String code) {
+        return productService.findProductByCode(code).orElse(null);
+    }
+
+    @QueryMapping
+    ReleaseDto release(@Argument String code) {
+        return releaseService.findReleaseByCode(code).orElse(null);
+    }
+
+    @QueryMapping
+    FeatureDto feature(@Argument String code) {
+        return featureService.findFeatureByCode(null, code).orElse(null);
+    }
+
+    @SchemaMapping(typeName = "Product")
+    List<ReleaseDto> releases(ProductDto product) {
+        return releaseService.findReleasesByProductCode(product.code());
+    }
+
+    @BatchMapping(typeName = "Product")
+    Map<ProductDto, List<FeatureDto>> features(List<ProductDto> products) {
+        Map<String, List<FeatureDto>> features =
+                featureService.findLatestFeaturesByProducts(codes(products, ProductDto::code), featuresPerProduct);
+        return byKey(products, product -> features.getOrDefault(product.code(), List.of()));
+    }
+
+    @BatchMapping(typeName = "Release", field = "features")
+    Map<ReleaseDto, List<FeatureDto>> releaseFeatures(List<ReleaseDto> releases) {
+        Map<String, List<FeatureDto>> features =
+                featureService.findFeaturesByReleases(codes(releases, ReleaseDto::code));
+        return byKey(releases, release -> features.getOrDefault(release.code(), List.of()));
+    }
+
+    @BatchMapping(typeName = "Feature")
+    Map<FeatureDto, Boolean> isFavorite(List<FeatureDto> features) {
+        String username = SecurityUtils.getCurrentUsername();
+        Map<String, Boolean> favorites = username == null
+                ? Map.of()
+                : favoriteFeatureService.getFavoriteFeatures(username, codes(features, FeatureDto::code));
+        return byKey(features, feature -> favorites.getOrDefault(feature.code(), false));
+    }
+
+    @BatchMapping(typeName = "Feature")
+    Map<FeatureDto, List<CommentDto>> comments(List<FeatureDto> features) {
+        Map<String, List<CommentDto>> comments =
+                commentService.findLatestCommentsByFeatureCodes(codes(features, FeatureDto::code), commentsPerFeature);
+        return byKey(features, feature -> comments.getOrDefault(feature.code(), List.of()));
+    }
+
+    private static <T> Set<String> codes(List<T> values, Function<T, String> code) {
+        return values.stream().map(code).collect(Collectors.toSet());
+    }
+
+    private static <K, V> Map<K, V> byKey(List<K> keys, Function<K, V> value) {
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            result.put(key, value.apply(key));
+        }
+        return result;
+    }
+}
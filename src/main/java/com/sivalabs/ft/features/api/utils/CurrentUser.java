@@ -0,0 +1,38 @@
+package com.sivalabs.ft.features.api.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * The authenticated user of the current request, read from the access token claims.
+ */
+public record CurrentUser(String username, String email, String name, List<String> roles) {
+
+    static CurrentUser from(Jwt jwt) {
+        Map<String, Object> claims = jwt.getClaims();
+        return new CurrentUser(
+                stringClaim(claims, "preferred_username"),
+                stringClaim(claims, "email"),
+                stringClaim(claims, "name"),
+                realmRoles(claims));
+    }
+
+    private static String stringClaim(Map<String, Object> claims, String name) {
+        Object value = claims.get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    private static List<String> realmRoles(Map<String, Object> claims) {
+        if (!(claims.get("realm_access") instanceof Map<?, ?> realmAccess)
+                || !(realmAccess.get("roles") instanceof List<?> roles)) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(roles.size());
+        for (Object role : roles) {
+            result.add(String.valueOf(role));
+        }
+        return List.copyOf(result);
+    }
+}
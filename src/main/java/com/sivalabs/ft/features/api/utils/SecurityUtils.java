@@ -1,47 +1,46 @@
 package com.sivalabs.ft.features.api.utils;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 public class SecurityUtils {
+    private static final String CURRENT_USER_ATTRIBUTE = SecurityUtils.class.getName() + ".CURRENT_USER";
 
     public static String getCurrentUsername() {
-        var loginUserDetails = getLoginUserDetails();
-        var username = loginUserDetails.get("username");
-        if (loginUserDetails.isEmpty() || username == null) {
-            return null;
-        }
-        return String.valueOf(username);
+        CurrentUser user = getCurrentUser();
+        return user != null ? user.username() : null;
     }
 
-    static Map<String, Object> getLoginUserDetails() {
-        Map<String, Object> map = new HashMap<>();
+    /**
+     * Returns the authenticated user, or {@code null} for anonymous requests. The user is resolved from the token
+     * once per request and kept as a request attribute for later calls.
+     */
+    public static CurrentUser getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (!(authentication instanceof JwtAuthenticationToken jwtAuth)) {
-            return map;
+            return null;
         }
-        Jwt jwt = (Jwt) jwtAuth.getPrincipal();
-
-        map.put("username", jwt.getClaimAsString("preferred_username"));
-        map.put("email", jwt.getClaimAsString("email"));
-        map.put("name", jwt.getClaimAsString("name"));
-        map.put("token", jwt.getTokenValue());
-        map.put("authorities", authentication.getAuthorities());
-        map.put("roles", getRoles(jwt));
-
-        return map;
-    }
-
-    private static List<String> getRoles(Jwt jwt) {
-        Map<String, Object> realm_access = (Map<String, Object>) jwt.getClaims().get("realm_access");
-        if (realm_access != null && !realm_access.isEmpty()) {
-            return (List<String>) realm_access.get("roles");
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return CurrentUser.from(jwtAuth.getToken());
         }
-        return List.of();
+        if (request.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                        instanceof ResolvedUser resolved
+                && resolved.authentication() == authentication) {
+            return resolved.user();
+        }
+        CurrentUser user = CurrentUser.from(jwtAuth.getToken());
+        request.setAttribute(
+                CURRENT_USER_ATTRIBUTE, new ResolvedUser(authentication, user), RequestAttributes.SCOPE_REQUEST);
+        return user;
     }
+
+    /**
+     * Remembers which authentication the user was resolved from, in case the security context changes
+     * within the request.
+     */
+    private record ResolvedUser(Authentication authentication, CurrentUser user) {}
 }
@@ -0,0 +1,90 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties.ConcurrencyLimitProperties.LimitProperties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that adapts to observed latency (additive increase, multiplicative decrease).
+ * <p>
+ * Every completed request is a sample. A sample slower than the target latency, or one that failed with a
+ * server error, shrinks the limit by the backoff ratio. A fast sample grows it by one, but only while at least
+ * half of the limit is in use, so that a lightly loaded service does not grow a limit it has never been tested at.
+ */
+final class AimdConcurrencyLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile int limit;
+
+    AimdConcurrencyLimit(LimitProperties properties, double backoffRatio) {
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.targetLatencyNanos = properties.targetLatency().toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.clamp(properties.initialLimit(), minLimit, maxLimit);
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void rejected() {
+        rejected.incrementAndGet();
+    }
+
+    /**
+     * Releases a permit and adjusts the limit with the request's latency.
+     */
+    void release(long latencyNanos, boolean failed) {
+        int inflightBeforeRelease = inflight.getAndDecrement();
+        onSample(latencyNanos, failed, inflightBeforeRelease);
+    }
+
+    /**
+     * Adjusts the limit with the latency of a request of this limit's class that held a slot of another limit,
+     * counting it as in flight along with the requests holding this limit's slots.
+     */
+    void sample(long latencyNanos, boolean failed) {
+        onSample(latencyNanos, failed, inflight.get() + 1);
+    }
+
+    /**
+     * Releases a permit without a sample, e.g. for a request that switched to async processing and whose
+     * latency says nothing about the load.
+     */
+    void releaseWithoutSample() {
+        inflight.decrementAndGet();
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inflight() {
+        return inflight.get();
+    }
+
+    long rejectedCount() {
+        return rejected.get();
+    }
+
+    private synchronized void onSample(long latencyNanos, boolean failed, int inflightAtCompletion) {
+        if (failed || latencyNanos > targetLatencyNanos) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inflightAtCompletion * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.sivalabs.ft.features.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.ResponseCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Serves anonymous {@code GET} requests on the public API from already-serialized response bodies.
+ * <p>
+ * Anonymous callers all get the same representation (nothing is a favorite), so a successful response is kept
+ * per path, sorted query string and {@code Accept} header, together with a gzipped copy when it is larger than
+ * {@code ft.response-cache.compression-threshold}. Repeating the request costs neither a query nor serialization,
+ * and a matching {@code If-None-Match} gets {@code 304}. Public responses carry {@code Cache-Control: public} with
+ * {@code ft.response-cache.max-age} so that browsers and CDNs can keep them as well.
+ * <p>
+ * A successful {@code POST}, {@code PUT}, {@code PATCH} or {@code DELETE} on a resource drops the cached responses
+ * of that resource and of the resources whose representations include it, e.g. a new comment changes the comment
+ * count of its feature. Responses whose rendering overlapped with a write are not stored. Entries also expire
+ * after {@code ft.response-cache.time-to-live} to pick up changes made by other instances.
+ * <p>
+ * Runs after the security filter chain so that authenticated requests are recognized and bypass the cache.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@ConditionalOnProperty(prefix = "ft.response-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AnonymousResponseCacheFilter extends OncePerRequestFilter {
+    private static final String API_PATH = "/api/";
+    private static final Set<String> WRITE_METHODS =
+            Set.of(HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+    private static final Set<String> PUBLIC_RESOURCES = Set.of("products", "releases", "features", "comments");
+    private static final Map<String, Set<String>> AFFECTED_BY_WRITES_TO = Map.of(
+            "products", Set.of("products", "releases", "features"),
+            "releases", Set.of("releases", "products", "features"),
+            "features", Set.of("features", "releases", "products", "comments"),
+            "comments", Set.of("comments", "features"));
+    private static final String VARY =
+            String.join(", ", HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.AUTHORIZATION);
+    private static final String NO_STORE = "no-cache, no-store, max-age=0, must-revalidate";
+
+    private final Cache<Key, CachedResponse> cache;
+    private final AtomicLong writes = new AtomicLong();
+    private final String cacheControl;
+    private final long compressionThreshold;
+
+    AnonymousResponseCacheFilter(ApplicationProperties properties, MeterRegistry meterRegistry) {
+        ResponseCacheProperties responseCache = properties.responseCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(responseCache.maximumSize().toBytes())
+                .weigher((Key key, CachedResponse response) -> response.size())
+                .expireAfterWrite(responseCache.timeToLive())
+                .recordStats()
+                .build();
+        this.cacheControl = "public, max-age=" + responseCache.maxAge().toSeconds();
+        this.compressionThreshold = responseCache.compressionThreshold().toBytes();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "http.responses");
+    }
+
+    /**
+     * Drops every cached response, for when data changed without going through the API.
+     */
+    public void invalidateAll() {
+        writes.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return resource(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            if (response.getStatus() < HttpStatus.BAD_REQUEST.value()) {
+                invalidate(resource(request));
+            }
+            return;
+        }
+        if (!HttpMethod.GET.matches(request.getMethod())
+                || !isAnonymous()
+                || request.getRequestURI().endsWith("/stream")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Key key = key(request);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        long writesBefore = writes.get();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.VARY, VARY);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() != HttpStatus.OK.value()) {
+                wrapper.setHeader(HttpHeaders.CACHE_CONTROL, NO_STORE);
+            } else if (!request.isAsyncStarted()) {
+                CachedResponse fresh = cachedResponse(wrapper);
+                wrapper.setHeader(HttpHeaders.ETAG, fresh.etag());
+                if (writes.get() == writesBefore) {
+                    cache.put(key, fresh);
+                    // a write that invalidated before the put removed nothing, so undo the put
+                    if (writes.get() != writesBefore) {
+                        cache.asMap().remove(key, fresh);
+                    }
+                }
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void invalidate(String resource) {
+        Set<String> affected = AFFECTED_BY_WRITES_TO.getOrDefault(resource, Set.of(resource));
+        writes.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> affected.contains(key.resource()));
+    }
+
+    private void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.VARY, VARY);
+        response.setHeader(HttpHeaders.ETAG, cached.etag());
+        if (cached.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.contentType());
+        byte[] body = cached.body();
+        if (cached.gzipped() != null && acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cached.gzipped();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private CachedResponse cachedResponse(ContentCachingResponseWrapper wrapper) throws IOException {
+        byte[] body = wrapper.getContentAsByteArray();
+        byte[] gzipped = body.length >= compressionThreshold ? gzip(body) : null;
+        String etag = "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+        return new CachedResponse(wrapper.getContentType(), body, gzipped, etag);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean isAnonymous() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || authentication instanceof AnonymousAuthenticationToken;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the public resource the request targets, e.g. {@code features} for {@code /api/features/IDEA-1},
+     * or {@code null} for anything else.
+     */
+    private static String resource(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (!uri.startsWith(API_PATH)) {
+            return null;
+        }
+        int end = uri.indexOf('/', API_PATH.length());
+        String resource = uri.substring(API_PATH.length(), end < 0 ? uri.length() : end);
+        return PUBLIC_RESOURCES.contains(resource) ? resource : null;
+    }
+
+    private static Key key(HttpServletRequest request) {
+        StringBuilder query = new StringBuilder();
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            for (String value : values) {
+                query.append(name).append('=').append(value).append('&');
+            }
+        });
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return new Key(resource(request), request.getRequestURI(), query.toString(), accept == null ? "" : accept);
+    }
+
+    private record Key(String resource, String path, String query, String accept) {}
+
+    private record CachedResponse(String contentType, byte[] body, byte[] gzipped, String etag) {
+        int size() {
+            return body.length + (gzipped == null ? 0 : gzipped.length);
+        }
+    }
+}
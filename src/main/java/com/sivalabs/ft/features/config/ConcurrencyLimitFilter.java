@@ -0,0 +1,151 @@
+package com.sivalabs.ft.features.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds load on {@code /api/**} and {@code /graphql} before it queues up in Tomcat and the connection pool.
+ * <p>
+ * Reads ({@code GET}/{@code HEAD}, and GraphQL queries, the schema having no mutations) and writes each have an
+ * {@link AimdConcurrencyLimit}. Writes take priority:
+ * when the write limit is reached a write may still use a free slot of the read limit, while reads never use
+ * write slots. A write on a borrowed read slot gives the slot back to the read limit, but its latency adjusts the
+ * write limit. A request that finds no slot is rejected right away with {@code 503} and a {@code Retry-After}
+ * header. Requests that go async (e.g. comment streams) give their slot back as soon as the stream is set up.
+ * Admin requests are bulk exports and imports that run for minutes; they are not limited and do not skew the
+ * latency the limits adapt to.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(prefix = "ft.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final String API_PATH = "/api/";
+    private static final String ADMIN_PATH = "/api/admin/";
+    private static final String GRAPHQL_PATH = "/graphql";
+
+    private final AimdConcurrencyLimit reads;
+    private final AimdConcurrencyLimit writes;
+    private final long retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    ConcurrencyLimitFilter(ApplicationProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this(properties.concurrencyLimit(), meterRegistry, objectMapper);
+    }
+
+    ConcurrencyLimitFilter(ConcurrencyLimitProperties limits, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.reads = new AimdConcurrencyLimit(limits.reads(), limits.backoffRatio());
+        this.writes = new AimdConcurrencyLimit(limits.writes(), limits.backoffRatio());
+        this.retryAfterSeconds = Math.max(1, limits.retryAfter().toSeconds());
+        this.objectMapper = objectMapper;
+        bindMetrics(meterRegistry, "read", reads);
+        bindMetrics(meterRegistry, "write", writes);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.equals(GRAPHQL_PATH)) {
+            return false;
+        }
+        return !uri.startsWith(API_PATH) || uri.startsWith(ADMIN_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AimdConcurrencyLimit slot = acquire(request);
+        if (slot == null) {
+            reject(response);
+            return;
+        }
+        AimdConcurrencyLimit limit = isRead(request) ? reads : writes;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            if (request.isAsyncStarted()) {
+                slot.releaseWithoutSample();
+            } else if (slot == limit) {
+                slot.release(System.nanoTime() - start, failed);
+            } else {
+                slot.releaseWithoutSample();
+                limit.sample(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    private AimdConcurrencyLimit acquire(HttpServletRequest request) {
+        if (isRead(request)) {
+            if (reads.tryAcquire()) {
+                return reads;
+            }
+            reads.rejected();
+            return null;
+        }
+        if (writes.tryAcquire()) {
+            return writes;
+        }
+        if (reads.tryAcquire()) {
+            return reads;
+        }
+        writes.rejected();
+        return null;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent requests, please retry later");
+        problemDetail.setTitle("Service Unavailable");
+        problemDetail.setProperty("timestamp", Instant.now());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problemDetail);
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method)
+                || HttpMethod.HEAD.matches(method)
+                || GRAPHQL_PATH.equals(request.getRequestURI());
+    }
+
+    private static void bindMetrics(MeterRegistry registry, String type, AimdConcurrencyLimit limit) {
+        Gauge.builder("http.concurrency.limit", limit, AimdConcurrencyLimit::limit)
+                .tag("type", type)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("http.concurrency.inflight", limit, AimdConcurrencyLimit::inflight)
+                .tag("type", type)
+                .description("Requests currently holding a concurrency slot")
+                .register(registry);
+        FunctionCounter.builder("http.concurrency.rejected", limit, AimdConcurrencyLimit::rejectedCount)
+                .tag("type", type)
+                .description("Requests rejected with 503 because the concurrency limit was reached")
+                .register(registry);
+    }
+}
@@ -0,0 +1,124 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.DbBulkheadProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Puts a {@link BulkheadDataSource} in front of each connection pool: in front of the application
+ * {@code dataSource} bean, or, with read replicas, in front of the primary and every replica pool behind the
+ * routing. It is applied before the query metrics proxy so that time spent waiting for a permit is not reported
+ * as statement time.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "ft.db-bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+class DataSourceBulkheadConfig {
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+    private static final int DEFAULT_MAX_CONCURRENT = 10;
+
+    @Bean
+    static BulkheadPostProcessor dataSourceBulkheadPostProcessor(ObjectProvider<ApplicationProperties> properties) {
+        return new BulkheadPostProcessor(() -> properties.getObject().dbBulkhead());
+    }
+
+    @Bean
+    MeterBinder dataSourceBulkheadMetrics(BulkheadPostProcessor dataSourceBulkheadPostProcessor) {
+        return registry -> dataSourceBulkheadPostProcessor.bulkheads.forEach(
+                (pool, bulkhead) -> bindMetrics(registry, pool, bulkhead));
+    }
+
+    private static void bindMetrics(MeterRegistry registry, String pool, BulkheadDataSource bulkhead) {
+        Gauge.builder("db.bulkhead.max", bulkhead, BulkheadDataSource::maxConcurrent)
+                .description("Maximum number of connections that can be checked out concurrently")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("db.bulkhead.available", bulkhead, BulkheadDataSource::availablePermits)
+                .description("Number of connection permits currently available")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("db.bulkhead.waiting", bulkhead, BulkheadDataSource::queueLength)
+                .description("Number of threads waiting for a connection permit")
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    /**
+     * Sizes a bulkhead to its pool so that a permit always means a connection is (or will soon be) free.
+     */
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            // fall back to the default below
+        }
+        return DEFAULT_MAX_CONCURRENT;
+    }
+
+    static class BulkheadPostProcessor implements BeanPostProcessor, Ordered {
+        private final Supplier<DbBulkheadProperties> properties;
+        private final Map<String, BulkheadDataSource> bulkheads = new ConcurrentHashMap<>();
+
+        BulkheadPostProcessor(Supplier<DbBulkheadProperties> properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            if (bean instanceof ReadReplicaRoutingDataSource routing) {
+                routing.decorateTargets(this::bulkhead);
+            }
+            return bean;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)
+                    || !DATA_SOURCE_BEAN_NAME.equals(beanName)
+                    || routesToReplicas(dataSource)) {
+                return bean;
+            }
+            return bulkhead(ReadReplicaRoutingDataSource.PRIMARY, dataSource);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        private BulkheadDataSource bulkhead(String pool, DataSource dataSource) {
+            DbBulkheadProperties bulkhead = properties.get();
+            int maxConcurrent = bulkhead.maxConcurrent() > 0 ? bulkhead.maxConcurrent() : poolSize(dataSource);
+            BulkheadDataSource bulkheadDataSource =
+                    new BulkheadDataSource(dataSource, maxConcurrent, bulkhead.acquireTimeout());
+            bulkheads.put(pool, bulkheadDataSource);
+            return bulkheadDataSource;
+        }
+
+        /**
+         * Whether the pools behind the data source already got their bulkheads.
+         */
+        private static boolean routesToReplicas(DataSource dataSource) {
+            try {
+                return dataSource.isWrapperFor(ReadReplicaRoutingDataSource.class);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.sivalabs.ft.features.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration(proxyBeanMethods = false)
+class FlywayConfig {
+
+    /**
+     * Skips migrations in the training run of the fast-startup build. That run only refreshes the context
+     * ({@code spring.context.exit=onRefresh}) to record the class data sharing archive and has no database; with
+     * AOT processing {@code spring.flyway.enabled} cannot be switched off at runtime.
+     */
+    @Bean
+    FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        boolean trainingRun = "onRefresh".equals(environment.getProperty("spring.context.exit"));
+        return flyway -> {
+            if (!trainingRun) {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.GraphQlProperties;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.schema.GraphQLTypeUtil;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rejects GraphQL queries that are nested too deeply or select too much before any data is fetched.
+ * <p>
+ * Every field costs one plus the cost of its selection. A field returning a list costs
+ * {@code ft.graphql.list-fan-out} times that, as it is resolved once per element, so a selection nested under
+ * several lists quickly exceeds {@code ft.graphql.max-complexity}.
+ */
+@Configuration(proxyBeanMethods = false)
+class GraphQlConfig {
+
+    @Bean
+    MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(ApplicationProperties properties) {
+        return new MaxQueryDepthInstrumentation(properties.graphql().maxDepth());
+    }
+
+    @Bean
+    MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(ApplicationProperties properties) {
+        GraphQlProperties graphql = properties.graphql();
+        return new MaxQueryComplexityInstrumentation(graphql.maxComplexity(), (environment, childComplexity) -> {
+            int complexity = 1 + childComplexity;
+            boolean list = GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(
+                    environment.getFieldDefinition().getType()));
+            return list ? graphql.listFanOut() * complexity : complexity;
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package com.sivalabs.ft.features.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the JCache manager behind Hibernate's second-level and query caches.
+ * Region sizes and TTLs are defined in {@code hibernate-cache.conf}.
+ */
+@Configuration(proxyBeanMethods = false)
+class HibernateCacheConfig {
+    static final List<String> REGIONS = List.of(
+            "product",
+            "product-natural-id",
+            "product-releases",
+            "release",
+            "release-natural-id",
+            "default-query-results-region",
+            "default-update-timestamps-region");
+
+    @Bean(destroyMethod = "close")
+    CacheManager hibernateCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(
+                        URI.create("classpath:hibernate-cache.conf"), getClass().getClassLoader());
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    MeterBinder hibernateCacheRegionMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String region : REGIONS) {
+                Cache<?, ?> cache = hibernateCacheManager.getCache(region).unwrap(Cache.class);
+                bindRegionMetrics(registry, region, cache);
+            }
+        };
+    }
+
+    private static void bindRegionMetrics(MeterRegistry registry, String region, Cache<?, ?> cache) {
+        CaffeineCacheMetrics.monitor(registry, cache, region);
+        cache.policy().eviction().ifPresent(eviction -> Gauge.builder(
+                        "cache.max.size", eviction, Policy.Eviction::getMaximum)
+                .tag("cache", region)
+                .description("Maximum number of entries of the cache region")
+                .register(registry));
+        cache.policy().expireAfterWrite().ifPresent(expiration -> Gauge.builder(
+                        "cache.ttl", expiration, e -> e.getExpiresAfter(TimeUnit.SECONDS))
+                .tag("cache", region)
+                .description("Time to live of the cache region entries")
+                .baseUnit("seconds")
+                .register(registry));
+    }
+}
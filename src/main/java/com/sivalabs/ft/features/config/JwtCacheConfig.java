@@ -0,0 +1,42 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Wraps the application's {@link JwtDecoder} in a {@link CachingJwtDecoder}, whatever configuration defines it.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "ft.jwt-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+class JwtCacheConfig {
+
+    @Bean
+    static BeanPostProcessor cachingJwtDecoderPostProcessor(ObjectProvider<ApplicationProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof JwtDecoder decoder) || bean instanceof CachingJwtDecoder) {
+                    return bean;
+                }
+                return new CachingJwtDecoder(
+                        decoder, properties.getObject().jwtCache().maximumSize());
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder jwtCacheMetrics(ObjectProvider<JwtDecoder> jwtDecoders) {
+        return registry -> jwtDecoders.forEach(decoder -> {
+            if (decoder instanceof CachingJwtDecoder caching) {
+                CaffeineCacheMetrics.monitor(registry, caching.cache(), "jwt");
+            }
+        });
+    }
+}
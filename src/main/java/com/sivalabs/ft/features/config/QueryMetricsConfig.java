@@ -0,0 +1,65 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+
+/**
+ * Instruments the application {@link DataSource} so that every JDBC statement is timed and attributed to the
+ * repository method that issued it. Only the {@code dataSource} bean is wrapped; the pools behind it (for example
+ * the replica pools) are reached through it and must not be counted twice.
+ */
+@Configuration(proxyBeanMethods = false)
+class QueryMetricsConfig {
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    @Bean
+    static BeanPostProcessor queryMetricsDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<ApplicationProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !DATA_SOURCE_BEAN_NAME.equals(beanName)) {
+                    return bean;
+                }
+                QueryMetricsListener listener = new QueryMetricsListener(
+                        meterRegistry.getObject(), properties.getObject().slowQuery());
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .listener(new SqlStatementCounter())
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    static BeanPostProcessor repositoryMethodTrackerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(
+                            factory -> factory.addRepositoryProxyPostProcessor(new TrackingPostProcessor()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static class TrackingPostProcessor implements RepositoryProxyPostProcessor {
+        @Override
+        public void postProcess(ProxyFactory factory, RepositoryInformation repositoryInformation) {
+            factory.addAdvice(new RepositoryMethodTracker(repositoryInformation.getRepositoryInterface()));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties.SlowQueryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records a {@code jdbc.query} timer per repository method and logs statements slower than the configured
+ * threshold. Bound parameters are logged as their types only unless {@code ft.slow-query.log-parameters} is set.
+ */
+class QueryMetricsListener implements QueryExecutionListener {
+    private static final Logger log = LoggerFactory.getLogger(QueryMetricsListener.class);
+    private static final int MAX_LOGGED_PARAMETER_LENGTH = 100;
+
+    private final MeterRegistry meterRegistry;
+    private final SlowQueryProperties properties;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    QueryMetricsListener(MeterRegistry meterRegistry, SlowQueryProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {}
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String method = RepositoryMethodTracker.currentMethod();
+        long elapsedMillis = execInfo.getElapsedTime();
+        timers.computeIfAbsent(method, this::timer).record(elapsedMillis, TimeUnit.MILLISECONDS);
+
+        if (elapsedMillis >= properties.threshold().toMillis() && sampled()) {
+            log.warn(
+                    "Slow query in {} took {} ms: {} {}",
+                    method,
+                    elapsedMillis,
+                    queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")),
+                    parameters(queryInfoList));
+        }
+    }
+
+    private Timer timer(String method) {
+        return Timer.builder("jdbc.query")
+                .tag("query", method)
+                .description("Execution time of JDBC statements issued by a repository method")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private boolean sampled() {
+        double sampleRate = properties.sampleRate();
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private String parameters(List<QueryInfo> queryInfoList) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (List<ParameterSetOperation> operations : queryInfo.getParametersList()) {
+                for (ParameterSetOperation operation : operations) {
+                    Object[] args = operation.getArgs();
+                    boolean isNull = ParameterSetOperation.isSetNullParameterOperation(operation) || args.length < 2;
+                    joiner.add(isNull ? "null" : parameter(args[1]));
+                }
+            }
+        }
+        return joiner.toString();
+    }
+
+    private String parameter(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (!properties.logParameters()) {
+            return "<" + value.getClass().getSimpleName() + ">";
+        }
+        String text = String.valueOf(value);
+        return text.length() > MAX_LOGGED_PARAMETER_LENGTH
+                ? text.substring(0, MAX_LOGGED_PARAMETER_LENGTH) + "..."
+                : text;
+    }
+}
@@ -0,0 +1,65 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.ReplicasProperties;
+import com.sivalabs.ft.features.domain.ReadYourWritesWindow;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "ft.replicas", name = "urls")
+class ReadReplicaDataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean(defaultCandidate = false)
+    ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource, ApplicationProperties properties) {
+        ReplicasProperties replicas = properties.replicas();
+        List<HikariDataSource> replicaDataSources = new ArrayList<>();
+        for (int i = 0; i < replicas.urls().size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(replicas.urls().get(i));
+            replica.setUsername(
+                    StringUtils.hasText(replicas.username()) ? replicas.username() : primaryDataSource.getUsername());
+            replica.setPassword(
+                    StringUtils.hasText(replicas.password()) ? replicas.password() : primaryDataSource.getPassword());
+            replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replicaDataSources.add(replica);
+        }
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSources, replicas.readYourWritesWindow());
+    }
+
+    @Bean
+    ReadYourWritesWindow readYourWritesWindow(
+            @Qualifier("readReplicaRoutingDataSource") ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return readReplicaRoutingDataSource::isReadYourWritesWindowOpen;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(
+            @Qualifier("readReplicaRoutingDataSource") ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,133 @@
+package com.sivalabs.ft.features.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to one of the replicas (round-robin) and everything else to the primary.
+ * <p>
+ * After a user's write transaction commits, that user's reads stay on the primary for the
+ * read-your-writes window so they never observe replication lag on their own changes.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so that the lookup happens after the transaction's read-only flag has been set.
+ */
+class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    static final String PRIMARY = "primary";
+    private static final int MAX_TRACKED_WRITERS = 10_000;
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final long readYourWritesWindowNanos;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    ReadReplicaRoutingDataSource(
+            HikariDataSource primary, List<HikariDataSource> replicas, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+        decorateTargets((key, pool) -> pool);
+    }
+
+    /**
+     * Routes to the decorator's result for each pool instead of the pool itself, e.g. to put a bulkhead in front
+     * of every pool. The decorator gets the lookup key ({@code primary}, {@code replica-0}, ...) along with the
+     * pool. Must be called before the bean is initialized.
+     */
+    void decorateTargets(BiFunction<String, HikariDataSource, DataSource> decorator) {
+        DataSource primaryTarget = decorator.apply(PRIMARY, primary);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primaryTarget);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(replicaKey(i), decorator.apply(replicaKey(i), replicas.get(i)));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primaryTarget);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite(username);
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || hasRecentlyWritten(username)) {
+            return PRIMARY;
+        }
+        return replicaKey(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+    }
+
+    /**
+     * Whether the current user's reads stay on the primary because they wrote within the read-your-writes window.
+     */
+    boolean isReadYourWritesWindowOpen() {
+        return hasRecentlyWritten(currentUsername());
+    }
+
+    private void trackWrite(String username) {
+        if (username == null
+                || readYourWritesWindowNanos <= 0
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                long now = System.nanoTime();
+                if (lastWriteByUser.size() >= MAX_TRACKED_WRITERS) {
+                    lastWriteByUser.values().removeIf(writtenAt -> now - writtenAt > readYourWritesWindowNanos);
+                }
+                lastWriteByUser.put(username, now);
+            }
+        });
+    }
+
+    private boolean hasRecentlyWritten(String username) {
+        if (username == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteByUser.get(username);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt > readYourWritesWindowNanos) {
+            lastWriteByUser.remove(username, writtenAt);
+            return false;
+        }
+        return true;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static String replicaKey(int index) {
+        return "replica-" + index;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.sivalabs.ft.features.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Remembers which repository method the current thread is executing so that the JDBC statements it issues
+ * can be attributed to it.
+ */
+final class RepositoryMethodTracker implements MethodInterceptor {
+    static final String UNKNOWN = "other";
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final String repositoryName;
+
+    RepositoryMethodTracker(Class<?> repositoryInterface) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    static String currentMethod() {
+        String method = CURRENT.get();
+        return method != null ? method : UNKNOWN;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String outer = CURRENT.get();
+        if (outer != null) {
+            // keep attributing to the outermost call, e.g. a custom method delegating to a derived query
+            return invocation.proceed();
+        }
+        CURRENT.set(repositoryName + "." + invocation.getMethod().getName());
+        try {
+            return invocation.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.SqlBudgetProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Enforces a per-endpoint budget on the number of SQL statements a request may issue, to catch N+1 query
+ * regressions. Budgets are keyed by the matched handler pattern ({@code ft.sql-budget.endpoints[/api/features]=5})
+ * and fall back to {@code ft.sql-budget.default-budget}. Exceeding the budget is logged, or fails the request
+ * when {@code ft.sql-budget.fail-on-exceed} is set, which is what the tests do.
+ * <p>
+ * The number of statements issued is exposed as the {@link #STATEMENT_COUNT_ATTRIBUTE} request attribute.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+    public static final String STATEMENT_COUNT_ATTRIBUTE = SqlStatementBudgetFilter.class.getName() + ".COUNT";
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    private final SqlBudgetProperties properties;
+
+    SqlStatementBudgetFilter(ApplicationProperties properties) {
+        this.properties = properties.sqlBudget();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        int count;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            count = SqlStatementCounter.stop();
+            request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, count);
+        }
+        String endpoint = endpoint(request);
+        int budget = properties.endpoints().getOrDefault(endpoint, properties.defaultBudget());
+        if (count > budget) {
+            String message = "%s %s issued %d SQL statements, exceeding its budget of %d"
+                    .formatted(request.getMethod(), endpoint, count, budget);
+            if (properties.failOnExceed()) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+}
@@ -0,0 +1,45 @@
+package com.sivalabs.ft.features.config;
+
+import java.util.List;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Counts the JDBC statement executions of the current thread while counting is active.
+ * A batch counts as a single execution since it is a single round trip. Sequence fetches of the pooled id
+ * generators ({@code *_id_seq}) are not counted: they are amortized over many inserts, so they would only make counts depend on
+ * what ran earlier.
+ */
+final class SqlStatementCounter implements QueryExecutionListener {
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {}
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        int[] count = COUNT.get();
+        if (count != null && !isSequenceFetch(queryInfoList)) {
+            count[0]++;
+        }
+    }
+
+    private static boolean isSequenceFetch(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.size() != 1) {
+            return false;
+        }
+        String query = queryInfoList.getFirst().getQuery();
+        return query.startsWith("select nextval('") && query.endsWith("_id_seq')");
+    }
+}
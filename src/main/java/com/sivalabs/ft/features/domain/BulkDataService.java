@@ -0,0 +1,135 @@
+package com.sivalabs.ft.features.domain;
+
+import static com.sivalabs.ft.features.domain.FeatureService.FEATURE_SEPARATOR;
+
+import com.sivalabs.ft.features.domain.dtos.FeatureImportDto;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import com.sivalabs.ft.features.domain.models.ExportDataset;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk export and import of the feature data with Postgres {@code COPY}.
+ * <p>
+ * Exports stream the output of {@code COPY ... TO STDOUT} as CSV straight to the caller, so no rows are held in
+ * memory, from a read-only transaction that may run on a replica. Imports copy CSV in the layout of the features
+ * export into a staging table, check it, and merge it with one update and one insert: rows with a code update
+ * that feature, rows without one create a feature. Imported changes publish no feature events; clients syncing
+ * changes still pick them up.
+ */
+@Service
+public class BulkDataService {
+    private static final int MAX_REPORTED_ROWS = 10;
+    private static final List<String> STATUSES =
+            Arrays.stream(FeatureStatus.values()).map(Enum::name).toList();
+    private static final String IMPORT_FEATURES =
+            """
+            copy feature_import (code, product_code, release_code, title, description, status, assigned_to,
+                                 created_by, created_at, updated_by, updated_at)
+            from stdin with (format csv, header match)
+            """;
+
+    private final FeatureRepository featureRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    BulkDataService(
+            FeatureRepository featureRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.featureRepository = featureRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void export(ExportDataset dataset, OutputStream out) {
+        String copy = "copy (" + exportQuery(dataset) + ") to stdout with (format csv, header)";
+        readOnlyTransaction.executeWithoutResult(
+                status -> jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                    try {
+                        return connection
+                                .unwrap(PGConnection.class)
+                                .getCopyAPI()
+                                .copyOut(copy, out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+    }
+
+    /**
+     * Imports features from CSV in the layout of the features export, with a header. Nothing is imported when a
+     * row is malformed or cannot be merged.
+     */
+    @Transactional
+    public FeatureImportDto importFeatures(String username, InputStream csv) {
+        featureRepository.createImportTable();
+        copyIn(IMPORT_FEATURES, csv);
+        List<Long> invalidRows = featureRepository.findInvalidImportRows(STATUSES, MAX_REPORTED_ROWS);
+        if (!invalidRows.isEmpty()) {
+            // The header is line 1
+            throw new BadRequestException("Invalid features on lines "
+                    + invalidRows.stream().map(row -> String.valueOf(row + 1)).collect(Collectors.joining(", ")));
+        }
+        long updated = featureRepository.updateFromImport(username);
+        long created = featureRepository.insertFromImport(FEATURE_SEPARATOR, username);
+        return new FeatureImportDto(created, updated);
+    }
+
+    private void copyIn(String copy, InputStream in) {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copy, in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException(e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private static String exportQuery(ExportDataset dataset) {
+        return switch (dataset) {
+            case FEATURES ->
+                """
+                select f.code, p.code as product_code, r.code as release_code, f.title, f.description, f.status,
+                       f.assigned_to, f.created_by, f.created_at, f.updated_by, f.updated_at
+                from features f
+                join products p on p.id = f.product_id
+                left join releases r on r.id = f.release_id
+                order by f.id
+                """;
+            case COMMENTS ->
+                """
+                select c.id, f.code as feature_code, c.created_by, c.content, c.created_at
+                from comments c
+                join features f on f.id = c.feature_id
+                order by c.id
+                """;
+            case FAVORITES ->
+                """
+                select f.code as feature_code, ff.user_id
+                from favorite_features ff
+                join features f on f.id = ff.feature_id
+                order by ff.id
+                """;
+        };
+    }
+}
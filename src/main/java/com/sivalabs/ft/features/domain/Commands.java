@@ -3,6 +3,7 @@ package com.sivalabs.ft.features.domain;
 import com.sivalabs.ft.features.domain.models.FeatureStatus;
 import com.sivalabs.ft.features.domain.models.ReleaseStatus;
 import java.time.Instant;
+import java.util.Set;
 
 public class Commands {
     private Commands() {}
@@ -40,6 +41,8 @@ public class Commands {
 
     public record DeleteFeatureCommand(String code, String deletedBy) {}
 
+    public record DeleteFeaturesCommand(Set<String> codes, String deletedBy) {}
+
     /* Comment Commands */
     public record CreateCommentCommand(String featureCode, String content, String createdBy) {}
 }
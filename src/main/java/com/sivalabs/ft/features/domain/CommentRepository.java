@@ -1,20 +1,81 @@
 package com.sivalabs.ft.features.domain;
 
+import com.sivalabs.ft.features.domain.dtos.CommentDto;
 import com.sivalabs.ft.features.domain.entities.Comment;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 interface CommentRepository extends JpaRepository<Comment, Long> {
 
     @Modifying
-    @Query("delete from Comment c where c.createdBy = :userId and c.id = :commentId")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comments"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "features")
+    })
+    @Query(
+            value =
+                    """
+            with deleted as (
+                delete from comments c
+                where c.created_by = :userId and c.id = :commentId
+                returning c.feature_id
+            )
+            update features f
+            set comment_count = greatest(f.comment_count - 1, 0),
+                last_commented_at = (select max(c.created_at) from comments c
+                                     where c.feature_id = f.id and c.id <> :commentId)
+            from deleted d
+            where f.id = d.feature_id
+            """,
+            nativeQuery = true)
     int deleteComment(Long commentId, String userId);
 
+    @Modifying
+    @Query(
+            """
+            delete from Comment c
+            where c.feature.id = (select f.id from Feature f where f.code = :featureCode)
+            """)
+    void deleteByFeatureCode(String featureCode);
+
+    @Modifying
+    @Query(
+            """
+            delete from Comment c
+            where c.feature.id in (select f.id from Feature f where f.code in :featureCodes)
+            """)
+    void deleteByFeatureCodes(Set<String> featureCodes);
+
+    @Query("select c.feature.code from Comment c where c.id = :commentId and c.createdBy = :userId")
+    Optional<String> findFeatureCode(Long commentId, String userId);
+
     @Query("""
             select c from Comment c where c.feature.code = :featureCode
             """)
     List<Comment> findCommentsByFeatureCode(String featureCode, PageRequest pageRequest);
+
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            select id, feature_code, content, created_by
+            from (
+                select c.id, f.code as feature_code, c.content, c.created_by,
+                       row_number() over (partition by c.feature_id order by c.created_at desc, c.id desc) as position
+                from comments c
+                join features f on f.id = c.feature_id
+                where f.code in (:featureCodes)
+            ) ranked
+            where position <= :limit
+            order by feature_code, position
+            """)
+    List<CommentDto> findLatestCommentsByFeatureCodes(Set<String> featureCodes, int limit);
 }
@@ -2,11 +2,16 @@ package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.dtos.CommentDto;
 import com.sivalabs.ft.features.domain.entities.Comment;
+import com.sivalabs.ft.features.domain.events.CommentStreamEvent;
+import com.sivalabs.ft.features.domain.events.CommentStreamHub;
 import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
 import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
 import com.sivalabs.ft.features.domain.mappers.CommentMapper;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,12 +21,17 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final FeatureRepository featureRepository;
     private final CommentMapper commentMapper;
+    private final CommentStreamHub commentStreamHub;
 
     CommentService(
-            CommentRepository commentRepository, FeatureRepository featureRepository, CommentMapper commentMapper) {
+            CommentRepository commentRepository,
+            FeatureRepository featureRepository,
+            CommentMapper commentMapper,
+            CommentStreamHub commentStreamHub) {
         this.commentRepository = commentRepository;
         this.featureRepository = featureRepository;
         this.commentMapper = commentMapper;
+        this.commentStreamHub = commentStreamHub;
     }
 
     @Transactional
@@ -37,15 +47,24 @@ public class CommentService {
         comment.setCreatedBy(command.createdBy());
         comment.setCreatedAt(Instant.now());
         commentRepository.save(comment);
+        featureRepository.incrementCommentCount(feature.getId(), comment.getCreatedAt());
+        commentStreamHub.publish(
+                feature.getCode(),
+                new CommentStreamEvent(CommentStreamEvent.Type.CREATED, commentMapper.toDto(comment)));
         return comment.getId();
     }
 
     @Transactional
     public void removeComment(Long commentId, String userId) {
+        String featureCode = commentRepository
+                .findFeatureCode(commentId, userId)
+                .orElseThrow(() -> new BadRequestException("comment not found"));
         int count = commentRepository.deleteComment(commentId, userId);
         if (count != 1) {
             throw new BadRequestException("comment not found");
         }
+        var removed = new CommentDto(commentId, featureCode, null, userId);
+        commentStreamHub.publish(featureCode, new CommentStreamEvent(CommentStreamEvent.Type.REMOVED, removed));
     }
 
     @Transactional(readOnly = true)
@@ -54,4 +73,17 @@ public class CommentService {
         List<Comment> comments = commentRepository.findCommentsByFeatureCode(featureCode, pageRequest);
         return comments.stream().map(commentMapper::toDto).toList();
     }
+
+    /**
+     * Loads the latest comments of several features with one query, keyed by feature code. Features without
+     * comments have no entry.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<CommentDto>> findLatestCommentsByFeatureCodes(Set<String> featureCodes, int limit) {
+        if (featureCodes.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository.findLatestCommentsByFeatureCodes(featureCodes, limit).stream()
+                .collect(Collectors.groupingBy(CommentDto::featureCode));
+    }
 }
@@ -29,6 +29,22 @@ interface FavoriteFeatureRepository extends JpaRepository<FavoriteFeature, Long>
             """)
     void deleteByFeatureCode(String featureCode);
 
+    @Modifying
+    @Query(
+            """
+            delete from FavoriteFeature ff
+            where ff.featureId in (select f.id from Feature f where f.code in :featureCodes)
+            """)
+    void deleteByFeatureCodes(Set<String> featureCodes);
+
+    /**
+     * Returns the ids of the features the user added to or removed from their favorites since the given change.
+     */
+    @Query(
+            value = "select feature_id from favorite_feature_changes where user_id = :userId and change_seq >= :since",
+            nativeQuery = true)
+    List<Long> findFeatureIdsChangedSince(String userId, long since);
+
     @Query(
             nativeQuery = true,
             value =
@@ -0,0 +1,40 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Criteria for listing the features of a product or a release. Criteria left {@code null} or empty match every
+ * feature; the others must all match.
+ *
+ * @param unreleased only features not planned for any release; requires {@code productCode}
+ * @param createdFrom inclusive lower bound of {@code createdAt}
+ * @param createdTo exclusive upper bound of {@code createdAt}
+ */
+public record FeatureFilter(
+        String productCode,
+        String releaseCode,
+        Set<FeatureStatus> statuses,
+        String assignedTo,
+        String createdBy,
+        Instant createdFrom,
+        Instant createdTo,
+        boolean unreleased) {
+
+    public FeatureFilter {
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+    }
+
+    /**
+     * Whether anything beyond the product or release is filtered on.
+     */
+    boolean hasCriteria() {
+        return !statuses.isEmpty()
+                || assignedTo != null
+                || createdBy != null
+                || createdFrom != null
+                || createdTo != null
+                || unreleased;
+    }
+}
@@ -1,13 +1,20 @@
 package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.entities.Feature;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.ListCrudRepository;
 
-interface FeatureRepository extends ListCrudRepository<Feature, Long> {
+interface FeatureRepository extends ListCrudRepository<Feature, Long>, JpaSpecificationExecutor<Feature> {
     @Query("select f from Feature f left join fetch f.release where f.code = :code")
     Optional<Feature> findByCode(String code);
 
@@ -17,15 +24,257 @@ interface FeatureRepository extends ListCrudRepository<Feature, Long> {
     @Query("select f from Feature f left join fetch f.release where f.product.code = :productCode")
     List<Feature> findByProductCode(String productCode);
 
-    @Modifying
-    void deleteByCode(String code);
+    @Query("select f from Feature f join fetch f.release where f.release.code in :releaseCodes")
+    List<Feature> findByReleaseCodes(Set<String> releaseCodes);
+
+    /**
+     * Returns the most recently created features of each product, at most {@code limit} per product.
+     */
+    @Query(
+            """
+            select f from Feature f join fetch f.product left join fetch f.release
+            where f.id in (
+                select ranked.id from (
+                    select n.id as id,
+                           row_number() over (partition by n.product.id order by n.createdAt desc, n.id desc) as position
+                    from Feature n
+                    where n.product.code in :productCodes
+                ) ranked
+                where ranked.position <= :limit
+            )
+            order by f.createdAt desc, f.id desc
+            """)
+    List<Feature> findLatestByProductCodes(Set<String> productCodes, int limit);
+
+    /**
+     * Deletes the feature, leaving a tombstone for clients syncing changes.
+     */
+    @Query(
+            value =
+                    """
+            with deleted as (delete from features where code = :code returning *),
+                 tombstones as (
+                     insert into feature_tombstones (code, product_id, change_seq, deleted_at)
+                     select code, product_id, pg_current_xact_id()::text::bigint, localtimestamp from deleted
+                 )
+            select * from deleted
+            """,
+            nativeQuery = true)
+    Optional<Feature> deleteByCodeReturning(String code);
+
+    /**
+     * Deletes the features, leaving tombstones for clients syncing changes.
+     */
+    @Query(
+            value =
+                    """
+            with deleted as (delete from features where code in (:codes) returning *),
+                 tombstones as (
+                     insert into feature_tombstones (code, product_id, change_seq, deleted_at)
+                     select code, product_id, pg_current_xact_id()::text::bigint, localtimestamp from deleted
+                 )
+            select * from deleted
+            """,
+            nativeQuery = true)
+    List<Feature> deleteByCodesReturning(Set<String> codes);
 
     @Modifying
     @Query("update Feature f set f.release = null where f.release.code = :code")
     void unsetRelease(String code);
 
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "features"))
+    @Query(
+            value =
+                    """
+            update features
+            set comment_count = comment_count + 1,
+                last_commented_at = greatest(last_commented_at, :commentedAt)
+            where id = :featureId
+            """,
+            nativeQuery = true)
+    void incrementCommentCount(Long featureId, Instant commentedAt);
+
     boolean existsByCode(String code);
 
+    /**
+     * Returns the oldest transaction still running. Every change stamped with a lower {@code change_seq} is
+     * committed and visible to statements that follow.
+     */
+    @Query(value = "select pg_snapshot_xmin(pg_current_snapshot())::text::bigint", nativeQuery = true)
+    long getChangeHorizon();
+
+    /**
+     * Returns the features of the product changed since the given change, along with those of the given ids,
+     * e.g. features whose favorite flag changed for the caller.
+     */
+    @Query(
+            """
+            select f from Feature f left join fetch f.release
+            where f.product.id = :productId and (f.changeSeq >= :since or f.id in :featureIds)
+            """)
+    List<Feature> findChangedSince(Long productId, long since, Collection<Long> featureIds);
+
+    @Query(
+            value = "select code from feature_tombstones where product_id = :productId and change_seq >= :since",
+            nativeQuery = true)
+    List<String> findDeletedCodesSince(Long productId, long since);
+
+    @Query(value = "select change_seq from feature_tombstone_horizon", nativeQuery = true)
+    long getTombstoneHorizon();
+
+    /**
+     * Purges the tombstones older than the retention, an ISO-8601 duration, and moves the tombstone horizon past
+     * them. Returns the number of tombstones purged.
+     */
+    @Query(
+            value =
+                    """
+            with purged as (
+                     delete from feature_tombstones
+                     where deleted_at < localtimestamp - cast(:retention as interval)
+                     returning change_seq
+                 ),
+                 horizon as (
+                     update feature_tombstone_horizon
+                     set change_seq = greatest(change_seq, (select max(change_seq) from purged))
+                     where exists (select 1 from purged)
+                 )
+            select count(*) from purged
+            """,
+            nativeQuery = true)
+    long purgeTombstones(String retention);
+
     @Query(value = "select nextval('feature_code_seq')", nativeQuery = true)
     long getNextFeatureId();
+
+    /**
+     * Creates the staging table feature imports are copied into, dropped when the transaction ends. Its columns
+     * match the features export.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "feature_import"))
+    @Query(
+            value =
+                    """
+            create temporary table feature_import (
+                line         bigint generated always as identity,
+                code         varchar(50),
+                product_code varchar(50),
+                release_code varchar(50),
+                title        varchar(500),
+                description  text,
+                status       varchar(50),
+                assigned_to  varchar(255),
+                created_by   varchar(255),
+                created_at   timestamp,
+                updated_by   varchar(255),
+                updated_at   timestamp
+            ) on commit drop
+            """,
+            nativeQuery = true)
+    void createImportTable();
+
+    /**
+     * Returns the first staged rows that cannot be merged: an unknown product, a release of another product, a
+     * code that is unknown, belongs to another product or is staged twice, a missing title or an invalid status.
+     */
+    @Query(
+            value =
+                    """
+            select s.line
+            from (select *, count(*) over (partition by code) as occurrences from feature_import) s
+            left join products p on p.code = s.product_code
+            left join releases r on r.code = s.release_code
+            left join features f on f.code = s.code
+            where p.id is null
+               or (s.release_code is not null and (r.id is null or r.product_id <> p.id))
+               or (s.code is not null and (f.id is null or f.product_id <> p.id or s.occurrences > 1))
+               or s.title is null
+               or s.status is null
+               or s.status not in (:statuses)
+            order by s.line
+            limit :limit
+            """,
+            nativeQuery = true)
+    List<Long> findInvalidImportRows(List<String> statuses, int limit);
+
+    /**
+     * Updates the features of the staged rows that have a code and differ from it, and applies the moves between
+     * releases and statuses to the release feature counters. Returns the number of features updated.
+     */
+    @Query(
+            value =
+                    """
+            with updated as (
+                     update features f
+                     set title = s.title,
+                         description = s.description,
+                         status = s.status,
+                         assigned_to = s.assigned_to,
+                         release_id = r.id,
+                         updated_by = :updatedBy,
+                         updated_at = localtimestamp
+                     from feature_import s
+                     join features previous on previous.code = s.code
+                     left join releases r on r.code = s.release_code
+                     where f.id = previous.id
+                       and (f.title, f.description, f.status, f.assigned_to, f.release_id)
+                           is distinct from (s.title, s.description, s.status, s.assigned_to, r.id)
+                     returning previous.release_id as previous_release_id, previous.status as previous_status,
+                               f.release_id, f.status
+                 ),
+                 deltas as (
+                     select previous_release_id as release_id, previous_status as status, -1 as delta
+                     from updated
+                     where previous_release_id is not null
+                     union all
+                     select release_id, status, 1 from updated where release_id is not null
+                 ),
+                 stats as (
+                     insert into release_feature_stats as st (release_id, status, feature_count)
+                     select release_id, status, sum(delta)
+                     from deltas
+                     group by release_id, status
+                     having sum(delta) <> 0
+                     order by release_id, status
+                     on conflict (release_id, status) do update set feature_count = st.feature_count + excluded.feature_count
+                 )
+            select count(*) from updated
+            """,
+            nativeQuery = true)
+    long updateFromImport(String updatedBy);
+
+    /**
+     * Creates a feature for every staged row without a code, with a code generated like a feature created through
+     * the API, and counts them in the release feature counters. Returns the number of features created.
+     */
+    @Query(
+            value =
+                    """
+            with inserted as (
+                     insert into features (code, title, description, status, assigned_to, product_id, release_id,
+                                           created_by, created_at)
+                     select p.prefix || :separator || nextval('feature_code_seq'), s.title, s.description, s.status,
+                            s.assigned_to, p.id, r.id, :createdBy, localtimestamp
+                     from feature_import s
+                     join products p on p.code = s.product_code
+                     left join releases r on r.code = s.release_code
+                     where s.code is null
+                     order by s.line
+                     returning release_id, status
+                 ),
+                 stats as (
+                     insert into release_feature_stats as st (release_id, status, feature_count)
+                     select release_id, status, count(*)
+                     from inserted
+                     where release_id is not null
+                     group by release_id, status
+                     order by release_id, status
+                     on conflict (release_id, status) do update set feature_count = st.feature_count + excluded.feature_count
+                 )
+            select count(*) from inserted
+            """,
+            nativeQuery = true)
+    long insertFromImport(String separator, String createdBy);
 }
@@ -2,12 +2,21 @@ package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.Commands.CreateFeatureCommand;
 import com.sivalabs.ft.features.domain.Commands.DeleteFeatureCommand;
+import com.sivalabs.ft.features.domain.Commands.DeleteFeaturesCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateFeatureCommand;
+import com.sivalabs.ft.features.domain.dtos.FeatureChangesDto;
 import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.dtos.ProductDto;
+import com.sivalabs.ft.features.domain.dtos.ReleaseDto;
 import com.sivalabs.ft.features.domain.entities.Feature;
-import com.sivalabs.ft.features.domain.entities.Product;
 import com.sivalabs.ft.features.domain.entities.Release;
 import com.sivalabs.ft.features.domain.events.EventPublisher;
+import com.sivalabs.ft.features.domain.events.FeatureStreamEvent;
+import com.sivalabs.ft.features.domain.events.FeatureStreamHub;
+import com.sivalabs.ft.features.domain.events.StreamSink;
+import com.sivalabs.ft.features.domain.events.StreamSubscription;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
 import com.sivalabs.ft.features.domain.mappers.FeatureMapper;
 import com.sivalabs.ft.features.domain.models.FeatureStatus;
 import java.time.Instant;
@@ -15,20 +24,39 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class FeatureService {
     public static final String FEATURE_SEPARATOR = "-";
+    private static final Set<String> SORTABLE_PROPERTIES =
+            Set.of("code", "title", "status", "assignedTo", "createdBy", "createdAt", "updatedAt");
     private final FavoriteFeatureService favoriteFeatureService;
     private final ReleaseRepository releaseRepository;
     private final FeatureRepository featureRepository;
     private final ProductRepository productRepository;
     private final FavoriteFeatureRepository favoriteFeatureRepository;
+    private final CommentRepository commentRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ReleaseFeatureStats releaseFeatureStats;
     private final EventPublisher eventPublisher;
+    private final FeatureStreamHub featureStreamHub;
     private final FeatureMapper featureMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadYourWritesWindow readYourWritesWindow;
+    private final WriteGeneration writeGeneration;
+    private final SingleFlight<String, Optional<FeatureDto>> featureByCode = new SingleFlight<>();
+    private final SingleFlight<String, List<FeatureDto>> featuresByRelease = new SingleFlight<>();
+    private final SingleFlight<String, List<FeatureDto>> featuresByProduct = new SingleFlight<>();
 
     FeatureService(
             FavoriteFeatureService favoriteFeatureService,
@@ -36,51 +64,209 @@ public class FeatureService {
             FeatureRepository featureRepository,
             ProductRepository productRepository,
             FavoriteFeatureRepository favoriteFeatureRepository,
+            CommentRepository commentRepository,
+            ReferenceDataCache referenceDataCache,
+            ReleaseFeatureStats releaseFeatureStats,
             EventPublisher eventPublisher,
-            FeatureMapper featureMapper) {
+            FeatureStreamHub featureStreamHub,
+            FeatureMapper featureMapper,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<ReadYourWritesWindow> readYourWritesWindow,
+            WriteGeneration writeGeneration) {
         this.favoriteFeatureService = favoriteFeatureService;
         this.releaseRepository = releaseRepository;
         this.featureRepository = featureRepository;
         this.productRepository = productRepository;
         this.eventPublisher = eventPublisher;
         this.favoriteFeatureRepository = favoriteFeatureRepository;
+        this.commentRepository = commentRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.releaseFeatureStats = releaseFeatureStats;
+        this.featureStreamHub = featureStreamHub;
         this.featureMapper = featureMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readYourWritesWindow = readYourWritesWindow.getIfAvailable(() -> () -> false);
+        this.writeGeneration = writeGeneration;
     }
 
-    @Transactional(readOnly = true)
     public Optional<FeatureDto> findFeatureByCode(String username, String code) {
-        Optional<Feature> optionalFeature = featureRepository.findByCode(code);
-        if (optionalFeature.isEmpty()) {
-            return Optional.empty();
-        }
-        List<FeatureDto> featureDtos = updateFavoriteStatus(List.of(optionalFeature.get()), username);
-        return Optional.ofNullable(featureDtos.getFirst());
+        Optional<FeatureDto> feature = coalesce(
+                featureByCode, code, () -> featureRepository.findByCode(code).map(featureMapper::toDto));
+        return feature.map(dto -> updateFavoriteStatus(List.of(dto), username).getFirst());
     }
 
-    @Transactional(readOnly = true)
     public List<FeatureDto> findFeaturesByRelease(String username, String releaseCode) {
-        List<Feature> features = featureRepository.findByReleaseCode(releaseCode);
+        List<FeatureDto> features =
+                coalesce(featuresByRelease, releaseCode, () -> featureRepository.findByReleaseCode(releaseCode).stream()
+                        .map(featureMapper::toDto)
+                        .toList());
         return updateFavoriteStatus(features, username);
     }
 
-    @Transactional(readOnly = true)
     public List<FeatureDto> findFeaturesByProduct(String username, String productCode) {
-        List<Feature> features = featureRepository.findByProductCode(productCode);
+        List<FeatureDto> features =
+                coalesce(featuresByProduct, productCode, () -> featureRepository.findByProductCode(productCode).stream()
+                        .map(featureMapper::toDto)
+                        .toList());
+        return updateFavoriteStatus(features, username);
+    }
+
+    /**
+     * Returns the features of the product created, updated or deleted since the sync token, or all of them when
+     * there is no token or the tombstones it depends on have been purged. Features the caller added to or removed
+     * from their favorites count as changed. A change may be returned more than once, but none is skipped by
+     * syncing with the returned token.
+     */
+    @Transactional(readOnly = true)
+    public Optional<FeatureChangesDto> findFeatureChanges(String username, String productCode, String since) {
+        Long changedSince = parseSyncToken(since);
+        return referenceDataCache.findProductByCode(productCode).map(product -> {
+            // taken first: changes from transactions it still considers running are visible to the queries below
+            String token = String.valueOf(featureRepository.getChangeHorizon());
+            boolean reset = changedSince == null || changedSince <= featureRepository.getTombstoneHorizon();
+            // favorites do not write the feature row, so features whose favorite flag changed are added
+            List<Long> favoritesChanged = reset || username == null
+                    ? List.of()
+                    : favoriteFeatureRepository.findFeatureIdsChangedSince(username, changedSince);
+            List<FeatureDto> changed =
+                    featureRepository
+                            .findChangedSince(product.id(), reset ? 0 : changedSince, favoritesChanged)
+                            .stream()
+                            .map(featureMapper::toDto)
+                            .toList();
+            List<String> deleted =
+                    reset ? List.of() : featureRepository.findDeletedCodesSince(product.id(), changedSince);
+            return new FeatureChangesDto(token, reset, updateFavoriteStatus(changed, username), deleted);
+        });
+    }
+
+    /**
+     * Subscribes the sink to the features of the product, or of the release when a release code is given.
+     */
+    public StreamSubscription subscribeToFeatureChanges(
+            String productCode, String releaseCode, StreamSink<FeatureStreamEvent> sink) {
+        if (releaseCode != null) {
+            ReleaseDto release = referenceDataCache
+                    .findReleaseByCode(releaseCode)
+                    .orElseThrow(
+                            () -> new ResourceNotFoundException("Release with code " + releaseCode + " not found"));
+            return featureStreamHub.subscribeToRelease(release.id(), sink);
+        }
+        ProductDto product = referenceDataCache
+                .findProductByCode(productCode)
+                .orElseThrow(() -> new ResourceNotFoundException("Product with code " + productCode + " not found"));
+        return featureStreamHub.subscribeToProduct(product.id(), sink);
+    }
+
+    private static Long parseSyncToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            long changeSeq = Long.parseLong(token);
+            if (changeSeq >= 0) {
+                return changeSeq;
+            }
+        } catch (NumberFormatException e) {
+            // rejected below
+        }
+        throw new BadRequestException("Invalid sync token: " + token);
+    }
+
+    /**
+     * Finds the features of the filter's product or release that match all its criteria, in the given order.
+     * Without criteria or order this is {@link #findFeaturesByProduct(String, String)} or
+     * {@link #findFeaturesByRelease(String, String)}.
+     */
+    public List<FeatureDto> findFeatures(String username, FeatureFilter filter, Sort sort) {
+        if (!filter.hasCriteria() && sort.isUnsorted()) {
+            return filter.releaseCode() == null
+                    ? findFeaturesByProduct(username, filter.productCode())
+                    : findFeaturesByRelease(username, filter.releaseCode());
+        }
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new BadRequestException("Features cannot be sorted by " + order.getProperty());
+            }
+        }
+        Long productId = null;
+        Long releaseId = null;
+        if (filter.productCode() != null) {
+            Optional<ProductDto> product = referenceDataCache.findProductByCode(filter.productCode());
+            if (product.isEmpty()) {
+                return List.of();
+            }
+            productId = product.get().id();
+        }
+        if (filter.releaseCode() != null) {
+            Optional<ReleaseDto> release = referenceDataCache.findReleaseByCode(filter.releaseCode());
+            if (release.isEmpty()) {
+                return List.of();
+            }
+            releaseId = release.get().id();
+        }
+        Specification<Feature> specification = FeatureSpecifications.matching(filter, productId, releaseId);
+        List<FeatureDto> features = readOnlyTransaction.execute(
+                status -> featureRepository.findAll(specification, sort.and(Sort.by("id"))).stream()
+                        .map(featureMapper::toDto)
+                        .toList());
         return updateFavoriteStatus(features, username);
     }
 
-    private List<FeatureDto> updateFavoriteStatus(List<Feature> features, String username) {
+    /**
+     * Loads the features of several releases with one query, keyed by release code. Favorite flags are not set;
+     * see {@link FavoriteFeatureService#getFavoriteFeatures(String, Set)}.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<FeatureDto>> findFeaturesByReleases(Set<String> releaseCodes) {
+        if (releaseCodes.isEmpty()) {
+            return Map.of();
+        }
+        return featureRepository.findByReleaseCodes(releaseCodes).stream()
+                .map(featureMapper::toDto)
+                .collect(Collectors.groupingBy(FeatureDto::releaseCode));
+    }
+
+    /**
+     * Loads the most recently created features of several products with one query, at most {@code limit} per
+     * product, newest first and keyed by product code. Favorite flags are not set.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<FeatureDto>> findLatestFeaturesByProducts(Set<String> productCodes, int limit) {
+        if (productCodes.isEmpty()) {
+            return Map.of();
+        }
+        return featureRepository.findLatestByProductCodes(productCodes, limit).stream()
+                .collect(Collectors.groupingBy(
+                        feature -> feature.getProduct().getCode(),
+                        Collectors.mapping(featureMapper::toDto, Collectors.toList())));
+    }
+
+    /**
+     * Runs the loader in a read-only transaction, shared with concurrent callers asking for the same key.
+     * Waiting callers hold no connection, and the shared result carries no favorite flags; those are overlaid
+     * per caller afterwards. Callers never join a load started before a write committed on this instance, so a
+     * caller always sees its own committed changes. Callers within their read-your-writes window load on their
+     * own, as a shared result may come from a replica that does not have their changes yet.
+     */
+    private <V> V coalesce(SingleFlight<String, V> singleFlight, String key, Supplier<V> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || readYourWritesWindow.isOpen()) {
+            // the caller may have uncommitted or unreplicated changes that a shared result would not reflect
+            return readOnlyTransaction.execute(status -> loader.get());
+        }
+        return singleFlight.execute(
+                key, writeGeneration.current(), () -> readOnlyTransaction.execute(status -> loader.get()));
+    }
+
+    private List<FeatureDto> updateFavoriteStatus(List<FeatureDto> features, String username) {
         if (username == null || features.isEmpty()) {
-            return features.stream().map(featureMapper::toDto).toList();
+            return features;
         }
-        Set<String> featureCodes = features.stream().map(Feature::getCode).collect(Collectors.toSet());
+        Set<String> featureCodes = features.stream().map(FeatureDto::code).collect(Collectors.toSet());
         Map<String, Boolean> favoriteFeatures = favoriteFeatureService.getFavoriteFeatures(username, featureCodes);
         return features.stream()
-                .map(feature -> {
-                    var dto = featureMapper.toDto(feature);
-                    dto.makeFavorite(favoriteFeatures.get(feature.getCode()));
-                    return dto;
-                })
+                .map(feature -> feature.makeFavorite(favoriteFeatures.getOrDefault(feature.code(), false)))
                 .toList();
     }
 
@@ -91,12 +277,13 @@ public class FeatureService {
 
     @Transactional
     public String createFeature(CreateFeatureCommand cmd) {
-        Product product = productRepository.findByCode(cmd.productCode()).orElseThrow();
-        Release release = releaseRepository.findByCode(cmd.releaseCode()).orElse(null);
-        String code = product.getPrefix() + FEATURE_SEPARATOR + featureRepository.getNextFeatureId();
+        ProductDto product = referenceDataCache
+                .findCurrentProductByCode(cmd.productCode())
+                .orElseThrow(() -> new BadRequestException("Product code is invalid: " + cmd.productCode()));
+        String code = product.prefix() + FEATURE_SEPARATOR + featureRepository.getNextFeatureId();
         var feature = new Feature();
-        feature.setProduct(product);
-        feature.setRelease(release);
+        feature.setProduct(productRepository.getReferenceById(product.id()));
+        feature.setRelease(releaseReference(cmd.releaseCode()));
         feature.setCode(code);
         feature.setTitle(cmd.title());
         feature.setDescription(cmd.description());
@@ -105,34 +292,85 @@ public class FeatureService {
         feature.setCreatedBy(cmd.createdBy());
         feature.setCreatedAt(Instant.now());
         featureRepository.save(feature);
+        releaseFeatureStats.featureAdded(feature);
         eventPublisher.publishFeatureCreatedEvent(feature);
+        streamFeatureChange(FeatureStreamEvent.Type.CREATED, feature, null);
         return code;
     }
 
     @Transactional
     public void updateFeature(UpdateFeatureCommand cmd) {
         Feature feature = featureRepository.findByCode(cmd.code()).orElseThrow();
+        Release previousRelease = feature.getRelease();
+        FeatureStatus previousStatus = feature.getStatus();
         feature.setTitle(cmd.title());
         feature.setDescription(cmd.description());
-        if (cmd.releaseCode() != null) {
-            Release release = releaseRepository.findByCode(cmd.releaseCode()).orElse(null);
-            feature.setRelease(release);
-        } else {
-            feature.setRelease(null);
-        }
+        feature.setRelease(releaseReference(cmd.releaseCode()));
         feature.setAssignedTo(cmd.assignedTo());
         feature.setStatus(cmd.status());
         feature.setUpdatedBy(cmd.updatedBy());
         feature.setUpdatedAt(Instant.now());
         featureRepository.save(feature);
+        releaseFeatureStats.featureChanged(previousRelease, previousStatus, feature);
         eventPublisher.publishFeatureUpdatedEvent(feature);
+        streamFeatureChange(FeatureStreamEvent.Type.UPDATED, feature, previousRelease);
+    }
+
+    /**
+     * Notifies the subscribers of the feature's product and release, and of the release it moved away from.
+     */
+    private void streamFeatureChange(FeatureStreamEvent.Type type, Feature feature, Release previousRelease) {
+        Release release = feature.getRelease();
+        var event = new FeatureStreamEvent(
+                type,
+                feature.getCode(),
+                feature.getTitle(),
+                feature.getStatus(),
+                release == null ? null : release.getCode());
+        featureStreamHub.publish(
+                event,
+                feature.getProduct().getId(),
+                release == null ? null : release.getId(),
+                previousRelease == null ? null : previousRelease.getId());
+    }
+
+    private Release releaseReference(String releaseCode) {
+        if (releaseCode == null) {
+            return null;
+        }
+        ReleaseDto release = referenceDataCache
+                .findCurrentReleaseByCode(releaseCode)
+                .orElseThrow(() -> new BadRequestException("Release code is invalid: " + releaseCode));
+        return releaseRepository.getReferenceById(release.id());
     }
 
     @Transactional
     public void deleteFeature(DeleteFeatureCommand cmd) {
-        Feature feature = featureRepository.findByCode(cmd.code()).orElseThrow();
+        commentRepository.deleteByFeatureCode(cmd.code());
         favoriteFeatureRepository.deleteByFeatureCode(cmd.code());
-        featureRepository.deleteByCode(cmd.code());
+        Feature feature = featureRepository
+                .deleteByCodeReturning(cmd.code())
+                .orElseThrow(
+                        () -> new ResourceNotFoundException("Feature with code %s not found".formatted(cmd.code())));
+        releaseFeatureStats.featuresRemoved(List.of(feature));
         eventPublisher.publishFeatureDeletedEvent(feature, cmd.deletedBy(), Instant.now());
+        streamFeatureChange(FeatureStreamEvent.Type.DELETED, feature, null);
+    }
+
+    @Transactional
+    public int deleteFeatures(DeleteFeaturesCommand cmd) {
+        if (cmd.codes().isEmpty()) {
+            return 0;
+        }
+        commentRepository.deleteByFeatureCodes(cmd.codes());
+        favoriteFeatureRepository.deleteByFeatureCodes(cmd.codes());
+        List<Feature> features = featureRepository.deleteByCodesReturning(cmd.codes());
+        releaseFeatureStats.featuresRemoved(features);
+        Instant deletedAt = Instant.now();
+        for (Feature feature : features) {
+            eventPublisher.publishFeatureDeletedEvent(feature, cmd.deletedBy(), deletedAt);
+            streamFeatureChange(FeatureStreamEvent.Type.DELETED, feature, null);
+        }
+        return features.size();
     }
 }
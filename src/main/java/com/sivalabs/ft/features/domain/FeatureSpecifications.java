@@ -0,0 +1,50 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.entities.Feature;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Builds the query for a {@link FeatureFilter}, with only the predicates the filter uses so that the planner can
+ * pick the matching composite or partial index.
+ */
+final class FeatureSpecifications {
+    private FeatureSpecifications() {}
+
+    static Specification<Feature> matching(FeatureFilter filter, Long productId, Long releaseId) {
+        return (root, query, cb) -> {
+            if (query.getResultType() == Feature.class) {
+                root.fetch("release", JoinType.LEFT);
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            if (productId != null) {
+                predicates.add(cb.equal(root.get("product").get("id"), productId));
+            }
+            if (releaseId != null) {
+                predicates.add(cb.equal(root.get("release").get("id"), releaseId));
+            }
+            if (filter.unreleased()) {
+                predicates.add(cb.isNull(root.get("release")));
+            }
+            if (!filter.statuses().isEmpty()) {
+                predicates.add(root.get("status").in(filter.statuses()));
+            }
+            if (filter.assignedTo() != null) {
+                predicates.add(cb.equal(root.get("assignedTo"), filter.assignedTo()));
+            }
+            if (filter.createdBy() != null) {
+                predicates.add(cb.equal(root.get("createdBy"), filter.createdBy()));
+            }
+            if (filter.createdFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.createdFrom()));
+            }
+            if (filter.createdTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), filter.createdTo()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Purges the tombstones of deleted features once they are older than {@code ft.feature-sync.tombstone-retention}.
+ * Clients last synced before the purged deletions get a full resync.
+ */
+@Component
+class FeatureTombstones {
+    private static final Logger log = LoggerFactory.getLogger(FeatureTombstones.class);
+
+    private final FeatureRepository featureRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+
+    FeatureTombstones(
+            FeatureRepository featureRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationProperties properties) {
+        this.featureRepository = featureRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = properties.featureSync().tombstoneRetention();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${ft.feature-sync.purge-interval:PT1H}",
+            initialDelayString = "${ft.feature-sync.purge-interval:PT1H}")
+    public void purge() {
+        Long purged = transactionTemplate.execute(status -> featureRepository.purgeTombstones(retention.toString()));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} feature tombstones older than {}", purged, retention);
+        }
+    }
+}
@@ -1,9 +1,23 @@
 package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.entities.Product;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
-import org.springframework.data.repository.ListCrudRepository;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-interface ProductRepository extends ListCrudRepository<Product, Long> {
+interface ProductRepository extends JpaRepository<Product, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Product> findByCode(String code);
+
+    /**
+     * Like {@link #findByCode(String)}, but always reads the database. The query cache of this node may still
+     * hold a miss from before the product was created on another instance.
+     */
+    @Query("select p from Product p where p.code = :code")
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"))
+    Optional<Product> findByCodeBypassingCache(String code);
 }
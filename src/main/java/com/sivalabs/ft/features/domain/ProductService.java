@@ -3,10 +3,13 @@ package com.sivalabs.ft.features.domain;
 import com.sivalabs.ft.features.domain.Commands.CreateProductCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateProductCommand;
 import com.sivalabs.ft.features.domain.dtos.ProductDto;
+import com.sivalabs.ft.features.domain.dtos.ProductOverviewDto;
+import com.sivalabs.ft.features.domain.dtos.ReleaseDto;
+import com.sivalabs.ft.features.domain.dtos.ReleaseStatsDto;
 import com.sivalabs.ft.features.domain.entities.Product;
 import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
-import com.sivalabs.ft.features.domain.mappers.ProductMapper;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,21 +17,39 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class ProductService {
     private final ProductRepository productRepository;
-    private final ProductMapper productMapper;
+    private final ReferenceDataCache referenceDataCache;
+    private final ReleaseFeatureStats releaseFeatureStats;
 
-    ProductService(ProductRepository productRepository, ProductMapper productMapper) {
+    ProductService(
+            ProductRepository productRepository,
+            ReferenceDataCache referenceDataCache,
+            ReleaseFeatureStats releaseFeatureStats) {
         this.productRepository = productRepository;
-        this.productMapper = productMapper;
+        this.referenceDataCache = referenceDataCache;
+        this.releaseFeatureStats = releaseFeatureStats;
     }
 
-    @Transactional(readOnly = true)
     public List<ProductDto> findAllProducts() {
-        return productRepository.findAll().stream().map(productMapper::toDto).toList();
+        return referenceDataCache.findAllProducts();
     }
 
-    @Transactional(readOnly = true)
     public Optional<ProductDto> findProductByCode(String code) {
-        return productRepository.findByCode(code).map(productMapper::toDto);
+        return referenceDataCache.findProductByCode(code);
+    }
+
+    /**
+     * Returns the product with its releases and their feature counts by status. Product and releases come from
+     * the reference data snapshot, the counts from the same precomputed counters as the releases API.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProductOverviewDto> findProductOverview(String code) {
+        return referenceDataCache.findProductByCode(code).map(product -> {
+            Map<Long, ReleaseStatsDto> stats = releaseFeatureStats.statsByRelease(product.id());
+            List<ReleaseDto> releases = referenceDataCache.findReleasesByProductCode(code).stream()
+                    .map(release -> release.withStats(stats.getOrDefault(release.id(), ReleaseStatsDto.NO_FEATURES)))
+                    .toList();
+            return new ProductOverviewDto(product, releases);
+        });
     }
 
     @Transactional
@@ -42,6 +63,7 @@ public class ProductService {
         product.setCreatedBy(cmd.createdBy());
         product.setDisabled(false);
         Product savedProduct = productRepository.save(product);
+        referenceDataCache.reloadAfterCommit();
         return savedProduct.getId();
     }
 
@@ -56,5 +78,6 @@ public class ProductService {
         product.setImageUrl(cmd.imageUrl());
         product.setUpdatedBy(cmd.updatedBy());
         productRepository.save(product);
+        referenceDataCache.reloadAfterCommit();
     }
 }
@@ -0,0 +1,9 @@
+package com.sivalabs.ft.features.domain;
+
+/**
+ * Tells whether the current user wrote recently enough that their reads must not be served from a replica, which
+ * may not have their changes yet. Only present when reads are routed to replicas.
+ */
+public interface ReadYourWritesWindow {
+    boolean isOpen();
+}
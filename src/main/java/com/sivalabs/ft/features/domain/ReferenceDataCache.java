@@ -0,0 +1,157 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.dtos.ProductDto;
+import com.sivalabs.ft.features.domain.dtos.ReleaseDto;
+import com.sivalabs.ft.features.domain.entities.Release;
+import com.sivalabs.ft.features.domain.mappers.ProductMapper;
+import com.sivalabs.ft.features.domain.mappers.ReleaseMapper;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Immutable in-memory snapshot of all products and releases.
+ * <p>
+ * Reference data changes rarely, so reads are served from the snapshot without touching the database.
+ * Every product or release mutation reloads the whole snapshot after its transaction commits and swaps it in
+ * atomically; a periodic reload picks up changes made outside the application.
+ */
+@Component
+public class ReferenceDataCache {
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private final ProductRepository productRepository;
+    private final ReleaseRepository releaseRepository;
+    private final ProductMapper productMapper;
+    private final ReleaseMapper releaseMapper;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Snapshot snapshot;
+
+    ReferenceDataCache(
+            ProductRepository productRepository,
+            ReleaseRepository releaseRepository,
+            ProductMapper productMapper,
+            ReleaseMapper releaseMapper,
+            PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.releaseRepository = releaseRepository;
+        this.productMapper = productMapper;
+        this.releaseMapper = releaseMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public List<ProductDto> findAllProducts() {
+        return snapshot().products();
+    }
+
+    public Optional<ProductDto> findProductByCode(String code) {
+        return Optional.ofNullable(snapshot().productsByCode().get(code));
+    }
+
+    public Optional<ReleaseDto> findReleaseByCode(String code) {
+        return Optional.ofNullable(snapshot().releasesByCode().get(code));
+    }
+
+    public List<ReleaseDto> findReleasesByProductCode(String productCode) {
+        return snapshot().releasesByProductCode().getOrDefault(productCode, List.of());
+    }
+
+    /**
+     * Like {@link #findProductByCode(String)}, but reads the product from the database when the snapshot does not
+     * have it, e.g. because it was created on another instance since the last reload. For write paths that must
+     * not miss a product that exists.
+     */
+    Optional<ProductDto> findCurrentProductByCode(String code) {
+        return findProductByCode(code)
+                .or(() -> productRepository.findByCodeBypassingCache(code).map(productMapper::toDto));
+    }
+
+    /**
+     * Like {@link #findReleaseByCode(String)}, but reads the release from the database when the snapshot does not
+     * have it.
+     */
+    Optional<ReleaseDto> findCurrentReleaseByCode(String code) {
+        return findReleaseByCode(code)
+                .or(() -> releaseRepository.findByCodeBypassingCache(code).map(releaseMapper::toDto));
+    }
+
+    /**
+     * Reloads the snapshot once the current transaction commits, or right away when there is none.
+     */
+    void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            fixedDelayString = "${ft.reference-data.refresh-interval:PT5M}",
+            initialDelayString = "${ft.reference-data.refresh-interval:PT5M}")
+    public synchronized void reload() {
+        Snapshot loaded = transactionTemplate.execute(status -> load());
+        this.snapshot = loaded;
+        log.debug(
+                "Loaded reference data snapshot with {} products and {} releases",
+                loaded.products().size(),
+                loaded.releasesByCode().size());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reload();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        List<ProductDto> products =
+                productRepository.findAll().stream().map(productMapper::toDto).toList();
+        Map<String, ProductDto> productsByCode = new LinkedHashMap<>();
+        for (ProductDto product : products) {
+            productsByCode.put(product.code(), product);
+        }
+        Map<String, ReleaseDto> releasesByCode = new LinkedHashMap<>();
+        Map<String, List<ReleaseDto>> releasesByProductCode = new LinkedHashMap<>();
+        for (Release release : releaseRepository.findAllWithProduct()) {
+            ReleaseDto dto = releaseMapper.toDto(release);
+            releasesByCode.put(dto.code(), dto);
+            releasesByProductCode
+                    .computeIfAbsent(release.getProduct().getCode(), code -> new ArrayList<>())
+                    .add(dto);
+        }
+        releasesByProductCode.replaceAll((code, releases) -> List.copyOf(releases));
+        return new Snapshot(
+                products, Map.copyOf(productsByCode), Map.copyOf(releasesByCode), Map.copyOf(releasesByProductCode));
+    }
+
+    private record Snapshot(
+            List<ProductDto> products,
+            Map<String, ProductDto> productsByCode,
+            Map<String, ReleaseDto> releasesByCode,
+            Map<String, List<ReleaseDto>> releasesByProductCode) {}
+}
@@ -0,0 +1,109 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.dtos.ReleaseStatsDto;
+import com.sivalabs.ft.features.domain.entities.Feature;
+import com.sivalabs.ft.features.domain.entities.Release;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the per-release feature counters in {@code release_feature_stats}.
+ * <p>
+ * Feature mutations apply their effect on the counters incrementally, in their own transaction, so the counters
+ * are always committed together with the features they count. Counters of a deleted release go with it. A
+ * periodic reconciliation corrects any drift, e.g. from changes made to the features table directly; only one
+ * instance reconciles at a time.
+ */
+@Component
+class ReleaseFeatureStats {
+    private static final Logger log = LoggerFactory.getLogger(ReleaseFeatureStats.class);
+
+    private final ReleaseRepository releaseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    ReleaseFeatureStats(ReleaseRepository releaseRepository, PlatformTransactionManager transactionManager) {
+        this.releaseRepository = releaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    Map<Long, ReleaseStatsDto> statsByRelease(Long productId) {
+        return ReleaseStatsDto.byRelease(releaseRepository.findFeatureStatsByProductId(productId));
+    }
+
+    ReleaseStatsDto statsOf(Long releaseId) {
+        return ReleaseStatsDto.byRelease(releaseRepository.findFeatureStatsByReleaseId(releaseId))
+                .getOrDefault(releaseId, ReleaseStatsDto.NO_FEATURES);
+    }
+
+    void featureAdded(Feature feature) {
+        Deltas deltas = new Deltas();
+        deltas.add(feature.getRelease(), feature.getStatus(), 1);
+        deltas.apply();
+    }
+
+    void featureChanged(Release previousRelease, FeatureStatus previousStatus, Feature feature) {
+        Deltas deltas = new Deltas();
+        deltas.add(previousRelease, previousStatus, -1);
+        deltas.add(feature.getRelease(), feature.getStatus(), 1);
+        deltas.apply();
+    }
+
+    void featuresRemoved(List<Feature> features) {
+        Deltas deltas = new Deltas();
+        for (Feature feature : features) {
+            deltas.add(feature.getRelease(), feature.getStatus(), -1);
+        }
+        deltas.apply();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${ft.release-stats.reconcile-interval:PT1H}",
+            initialDelayString = "${ft.release-stats.reconcile-interval:PT1H}")
+    public void reconcile() {
+        Integer corrected = transactionTemplate.execute(
+                status -> releaseRepository.tryLockFeatureStats() ? releaseRepository.reconcileFeatureStats() : null);
+        if (corrected == null) {
+            log.debug("Skipped release feature stats reconciliation, another one is running");
+        } else if (corrected > 0) {
+            log.info("Corrected {} drifted release feature counters", corrected);
+        }
+    }
+
+    private record Key(Long releaseId, FeatureStatus status) {}
+
+    private class Deltas {
+        private final Map<Key, Long> deltas = new LinkedHashMap<>();
+
+        void add(Release release, FeatureStatus status, long delta) {
+            if (release != null) {
+                deltas.merge(new Key(release.getId(), status), delta, Long::sum);
+            }
+        }
+
+        void apply() {
+            deltas.values().removeIf(delta -> delta == 0);
+            if (deltas.isEmpty()) {
+                return;
+            }
+            Long[] releaseIds = new Long[deltas.size()];
+            String[] statuses = new String[deltas.size()];
+            Long[] values = new Long[deltas.size()];
+            int i = 0;
+            for (Map.Entry<Key, Long> entry : deltas.entrySet()) {
+                releaseIds[i] = entry.getKey().releaseId();
+                statuses[i] = entry.getKey().status().name();
+                values[i] = entry.getValue();
+                i++;
+            }
+            releaseRepository.addToFeatureStats(releaseIds, statuses, values);
+        }
+    }
+}
@@ -1,18 +1,112 @@
 package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.entities.Release;
+import com.sivalabs.ft.features.domain.models.ReleaseFeatureCount;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-interface ReleaseRepository extends ListCrudRepository<Release, Long> {
+interface ReleaseRepository extends JpaRepository<Release, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Release> findByCode(String code);
 
+    /**
+     * Like {@link #findByCode(String)}, but always reads the database. The query cache of this node may still
+     * hold a miss from before the release was created on another instance.
+     */
+    @Query("select r from Release r where r.code = :code")
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"))
+    Optional<Release> findByCodeBypassingCache(String code);
+
     List<Release> findByProductCode(String productCode);
 
+    @Query("select r from Release r join fetch r.product order by r.id")
+    List<Release> findAllWithProduct();
+
     @Modifying
     void deleteByCode(String code);
 
     boolean existsByCode(String code);
+
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            select s.release_id as releaseId, s.status, s.feature_count as featureCount
+            from release_feature_stats s
+            join releases r on r.id = s.release_id
+            where r.product_id = :productId
+            """)
+    List<ReleaseFeatureCount> findFeatureStatsByProductId(Long productId);
+
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            select release_id as releaseId, status, feature_count as featureCount
+            from release_feature_stats
+            where release_id = :releaseId
+            """)
+    List<ReleaseFeatureCount> findFeatureStatsByReleaseId(Long releaseId);
+
+    /**
+     * Adds the deltas to the feature counters, creating missing ones. Rows are upserted in key order so that
+     * concurrent transactions lock them in the same order.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "release_feature_stats"))
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            insert into release_feature_stats as s (release_id, status, feature_count)
+            select release_id, status, delta
+            from unnest(cast(:releaseIds as bigint[]), cast(:statuses as varchar[]), cast(:deltas as bigint[]))
+                as d (release_id, status, delta)
+            order by release_id, status
+            on conflict (release_id, status) do update set feature_count = s.feature_count + excluded.feature_count
+            """)
+    void addToFeatureStats(Long[] releaseIds, String[] statuses, Long[] deltas);
+
+    /**
+     * Brings the feature counters in line with the features table by adding the difference between both, as
+     * seen by this statement. Changes committed concurrently still apply their own deltas on top, so none are
+     * lost. Returns the number of counters corrected.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "release_feature_stats"))
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            with actual as (
+                select release_id, status, count(*) as feature_count
+                from features
+                where release_id is not null
+                group by release_id, status
+            ),
+            drift as (
+                select coalesce(a.release_id, s.release_id) as release_id,
+                       coalesce(a.status, s.status) as status,
+                       coalesce(a.feature_count, 0) - coalesce(s.feature_count, 0) as delta
+                from actual a
+                full join release_feature_stats s on s.release_id = a.release_id and s.status = a.status
+            )
+            insert into release_feature_stats as s (release_id, status, feature_count)
+            select release_id, status, delta
+            from drift
+            where delta <> 0
+            order by release_id, status
+            on conflict (release_id, status) do update set feature_count = s.feature_count + excluded.feature_count
+            """)
+    int reconcileFeatureStats();
+
+    @Query(nativeQuery = true, value = "select pg_try_advisory_xact_lock(hashtext('release_feature_stats'))")
+    boolean tryLockFeatureStats();
 }
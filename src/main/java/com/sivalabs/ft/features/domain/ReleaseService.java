@@ -2,14 +2,16 @@ package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.Commands.CreateReleaseCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateReleaseCommand;
+import com.sivalabs.ft.features.domain.dtos.ProductDto;
 import com.sivalabs.ft.features.domain.dtos.ReleaseDto;
-import com.sivalabs.ft.features.domain.entities.Product;
+import com.sivalabs.ft.features.domain.dtos.ReleaseStatsDto;
 import com.sivalabs.ft.features.domain.entities.Release;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
 import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
-import com.sivalabs.ft.features.domain.mappers.ReleaseMapper;
 import com.sivalabs.ft.features.domain.models.ReleaseStatus;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,51 +22,77 @@ public class ReleaseService {
     private final ReleaseRepository releaseRepository;
     private final ProductRepository productRepository;
     private final FeatureRepository featureRepository;
-    private final ReleaseMapper releaseMapper;
+    private final ReferenceDataCache referenceDataCache;
+    private final ReleaseFeatureStats releaseFeatureStats;
 
     ReleaseService(
             ReleaseRepository releaseRepository,
             ProductRepository productRepository,
             FeatureRepository featureRepository,
-            ReleaseMapper releaseMapper) {
+            ReferenceDataCache referenceDataCache,
+            ReleaseFeatureStats releaseFeatureStats) {
         this.releaseRepository = releaseRepository;
         this.productRepository = productRepository;
         this.featureRepository = featureRepository;
-        this.releaseMapper = releaseMapper;
+        this.referenceDataCache = referenceDataCache;
+        this.releaseFeatureStats = releaseFeatureStats;
     }
 
-    @Transactional(readOnly = true)
     public List<ReleaseDto> findReleasesByProductCode(String productCode) {
-        return releaseRepository.findByProductCode(productCode).stream()
-                .map(releaseMapper::toDto)
-                .toList();
+        return referenceDataCache.findReleasesByProductCode(productCode);
     }
 
-    @Transactional(readOnly = true)
     public Optional<ReleaseDto> findReleaseByCode(String code) {
-        return releaseRepository.findByCode(code).map(releaseMapper::toDto);
+        return referenceDataCache.findReleaseByCode(code);
+    }
+
+    /**
+     * Like {@link #findReleasesByProductCode(String)}, with the feature counters of every release read in one
+     * query.
+     */
+    @Transactional(readOnly = true)
+    public List<ReleaseDto> findReleasesWithStatsByProductCode(String productCode) {
+        List<ReleaseDto> releases = referenceDataCache.findReleasesByProductCode(productCode);
+        if (releases.isEmpty()) {
+            return releases;
+        }
+        Long productId =
+                referenceDataCache.findProductByCode(productCode).orElseThrow().id();
+        Map<Long, ReleaseStatsDto> stats = releaseFeatureStats.statsByRelease(productId);
+        return releases.stream()
+                .map(release -> release.withStats(stats.getOrDefault(release.id(), ReleaseStatsDto.NO_FEATURES)))
+                .toList();
     }
 
     @Transactional(readOnly = true)
+    public Optional<ReleaseDto> findReleaseWithStatsByCode(String code) {
+        return referenceDataCache
+                .findReleaseByCode(code)
+                .map(release -> release.withStats(releaseFeatureStats.statsOf(release.id())));
+    }
+
     public boolean isReleaseExists(String code) {
-        return releaseRepository.existsByCode(code);
+        return referenceDataCache.findReleaseByCode(code).isPresent();
     }
 
     @Transactional
     public String createRelease(CreateReleaseCommand cmd) {
-        Product product = productRepository.findByCode(cmd.productCode()).orElseThrow();
+        ProductDto product = referenceDataCache
+                .findCurrentProductByCode(cmd.productCode())
+                .orElseThrow(() -> new BadRequestException("Product code is invalid: " + cmd.productCode()));
         String code = cmd.code();
-        if (!cmd.code().startsWith(product.getPrefix() + RELEASE_SEPARATOR)) {
-            code = product.getPrefix() + RELEASE_SEPARATOR + cmd.code();
+        if (!cmd.code().startsWith(product.prefix() + RELEASE_SEPARATOR)) {
+            code = product.prefix() + RELEASE_SEPARATOR + cmd.code();
         }
         Release release = new Release();
-        release.setProduct(product);
+        release.setProduct(productRepository.getReferenceById(product.id()));
         release.setCode(code);
         release.setDescription(cmd.description());
         release.setStatus(ReleaseStatus.DRAFT);
         release.setCreatedBy(cmd.createdBy());
         release.setCreatedAt(Instant.now());
         releaseRepository.save(release);
+        referenceDataCache.reloadAfterCommit();
         return code;
     }
 
@@ -77,6 +105,7 @@ public class ReleaseService {
         release.setUpdatedBy(cmd.updatedBy());
         release.setUpdatedAt(Instant.now());
         releaseRepository.save(release);
+        referenceDataCache.reloadAfterCommit();
     }
 
     @Transactional
@@ -85,6 +114,8 @@ public class ReleaseService {
             throw new ResourceNotFoundException("Release with code " + code + " not found");
         }
         featureRepository.unsetRelease(code);
+        // its feature counters are deleted along with it
         releaseRepository.deleteByCode(code);
+        referenceDataCache.reloadAfterCommit();
     }
 }
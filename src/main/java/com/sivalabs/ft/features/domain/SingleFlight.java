@@ -0,0 +1,62 @@
+package com.sivalabs.ft.features.domain;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution of the loader.
+ * <p>
+ * The first caller for a key runs the loader; callers arriving while it is in flight wait for and share its
+ * result (or exception). Nothing is cached: once the call completes the next caller starts a new execution.
+ * Shared results must therefore be immutable.
+ * <p>
+ * Each execution is tagged with the write generation its caller observed, and a caller only joins an execution
+ * started under the same or a later generation. A caller that has just committed a write therefore never gets
+ * the result of an execution that took its snapshot before that write; it starts a new one, which later callers
+ * of its generation join.
+ */
+final class SingleFlight<K, V> {
+    private final Map<K, Call<V>> inFlight = new ConcurrentHashMap<>();
+
+    V execute(K key, long generation, Supplier<V> loader) {
+        Call<V> call = new Call<>(generation, new CompletableFuture<>());
+        Call<V> joined = inFlight.compute(
+                key, (k, existing) -> existing != null && existing.generation() >= generation ? existing : call);
+        if (joined != call) {
+            return await(joined.result());
+        }
+        try {
+            V result = loader.get();
+            call.result().complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record Call<V>(long generation, CompletableFuture<V> result) {}
+}
@@ -0,0 +1,29 @@
+package com.sivalabs.ft.features.domain;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Counts the read-write transactions committed on this instance.
+ * <p>
+ * Spring Boot registers the listener with the transaction manager, so every write path bumps the generation
+ * before its commit returns to the caller. A load started under the current generation therefore sees every write
+ * the caller has committed so far.
+ */
+@Component
+class WriteGeneration implements TransactionExecutionListener {
+    private final AtomicLong generation = new AtomicLong();
+
+    long current() {
+        return generation.get();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            generation.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Features of a product changed since a sync token. With {@code reset} set, {@code changed} holds every feature
+ * of the product and replaces the client's copy. {@code token} is passed as {@code since} on the next sync.
+ */
+public record FeatureChangesDto(String token, boolean reset, List<FeatureDto> changed, List<String> deleted)
+        implements Serializable {}
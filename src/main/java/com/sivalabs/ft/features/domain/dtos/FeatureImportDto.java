@@ -0,0 +1,6 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+/**
+ * Outcome of a feature import: features created from rows without a code, and existing features that changed.
+ */
+public record FeatureImportDto(long created, long updated) {}
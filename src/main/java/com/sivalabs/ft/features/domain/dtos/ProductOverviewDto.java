@@ -0,0 +1,5 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+import java.util.List;
+
+public record ProductOverviewDto(ProductDto product, List<ReleaseDto> releases) {}
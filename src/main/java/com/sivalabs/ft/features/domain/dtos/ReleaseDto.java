@@ -13,5 +13,12 @@ public record ReleaseDto(
         String createdBy,
         Instant createdAt,
         String updatedBy,
-        Instant updatedAt)
-        implements Serializable {}
+        Instant updatedAt,
+        ReleaseStatsDto stats)
+        implements Serializable {
+
+    public ReleaseDto withStats(ReleaseStatsDto stats) {
+        return new ReleaseDto(
+                id, code, description, status, releasedAt, createdBy, createdAt, updatedBy, updatedAt, stats);
+    }
+}
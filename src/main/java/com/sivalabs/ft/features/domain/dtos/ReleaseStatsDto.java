@@ -0,0 +1,44 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import com.sivalabs.ft.features.domain.models.ReleaseFeatureCount;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Number of features planned for a release, in total and per {@link FeatureStatus}, including statuses without
+ * any.
+ */
+public record ReleaseStatsDto(long totalFeatures, Map<FeatureStatus, Long> featureCounts) implements Serializable {
+    public static final ReleaseStatsDto NO_FEATURES = of(Map.of());
+
+    public static ReleaseStatsDto of(Map<FeatureStatus, Long> counts) {
+        Map<FeatureStatus, Long> featureCounts = new EnumMap<>(FeatureStatus.class);
+        long total = 0;
+        for (FeatureStatus status : FeatureStatus.values()) {
+            long count = counts.getOrDefault(status, 0L);
+            featureCounts.put(status, count);
+            total += count;
+        }
+        return new ReleaseStatsDto(total, Collections.unmodifiableMap(featureCounts));
+    }
+
+    /**
+     * Combines per-status counts into the stats of each release, keyed by release id.
+     */
+    public static Map<Long, ReleaseStatsDto> byRelease(List<ReleaseFeatureCount> counts) {
+        Map<Long, Map<FeatureStatus, Long>> countsByRelease = new HashMap<>();
+        for (ReleaseFeatureCount count : counts) {
+            countsByRelease
+                    .computeIfAbsent(count.getReleaseId(), id -> new EnumMap<>(FeatureStatus.class))
+                    .put(count.getStatus(), count.getFeatureCount());
+        }
+        Map<Long, ReleaseStatsDto> stats = new HashMap<>();
+        countsByRelease.forEach((releaseId, releaseCounts) -> stats.put(releaseId, of(releaseCounts)));
+        return Map.copyOf(stats);
+    }
+}
@@ -53,6 +53,15 @@ public class Feature {
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    private int commentCount;
+
+    @Column(name = "last_commented_at", insertable = false, updatable = false)
+    private Instant lastCommentedAt;
+
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false)
+    private long changeSeq;
+
     public Long getId() {
         return id;
     }
@@ -148,4 +157,24 @@ public class Feature {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(int commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    public Instant getLastCommentedAt() {
+        return lastCommentedAt;
+    }
+
+    public void setLastCommentedAt(Instant lastCommentedAt) {
+        this.lastCommentedAt = lastCommentedAt;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
 }
@@ -15,9 +15,15 @@ import jakarta.validation.constraints.Size;
 import java.time.Instant;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
+@NaturalIdCache(region = "product-natural-id")
 @Table(name = "products")
 public class Product {
     @Id
@@ -26,6 +32,7 @@ public class Product {
     @Column(name = "id", nullable = false)
     private Long id;
 
+    @NaturalId
     @Size(max = 50) @NotNull @Column(name = "code", nullable = false, length = 50)
     private String code;
 
@@ -59,6 +66,7 @@ public class Product {
     private Instant updatedAt;
 
     @OneToMany(mappedBy = "product")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-releases")
     private Set<Release> releases = new LinkedHashSet<>();
 
     @PrePersist
@@ -19,9 +19,15 @@ import jakarta.validation.constraints.Size;
 import java.time.Instant;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "release")
+@NaturalIdCache(region = "release-natural-id")
 @Table(name = "releases")
 public class Release {
     @Id
@@ -34,6 +40,7 @@ public class Release {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    @NaturalId
     @Size(max = 50) @NotNull @Column(name = "code", nullable = false, length = 50)
     private String code;
 
@@ -0,0 +1,11 @@
+package com.sivalabs.ft.features.domain.events;
+
+import com.sivalabs.ft.features.domain.dtos.CommentDto;
+
+public record CommentStreamEvent(Type type, CommentDto comment) {
+
+    public enum Type {
+        CREATED,
+        REMOVED
+    }
+}
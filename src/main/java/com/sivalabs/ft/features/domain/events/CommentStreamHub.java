@@ -0,0 +1,81 @@
+package com.sivalabs.ft.features.domain.events;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.CommentStreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process publish/subscribe hub for live comment updates, keyed by feature code.
+ * <p>
+ * Subscribers are kept in a {@link StreamRegistry}: each gets a bounded buffer that drops its oldest pending event
+ * when the client cannot keep up, and idle ones get a heartbeat every {@code ft.comment-stream.heartbeat-interval}
+ * so that dead connections are closed. The hub writes events on virtual threads of its own and gives up on
+ * clients whose write blocked for longer than {@code ft.comment-stream.write-timeout}.
+ */
+@Component
+public class CommentStreamHub implements SchedulingConfigurer {
+    private final StreamRegistry<String, CommentStreamEvent> registry;
+    private final Counter publishedEvents;
+
+    @Autowired
+    public CommentStreamHub(ApplicationProperties properties, MeterRegistry meterRegistry) {
+        this(StreamRegistry.deliveryExecutor("comment"), properties.commentStream(), meterRegistry);
+    }
+
+    CommentStreamHub(Executor executor, CommentStreamProperties properties, MeterRegistry meterRegistry) {
+        this.registry = new StreamRegistry<>(
+                "comment",
+                executor,
+                properties.shards(),
+                properties.bufferSize(),
+                properties.heartbeatInterval(),
+                properties.writeTimeout(),
+                meterRegistry);
+        this.publishedEvents = Counter.builder("comments.stream.events.published")
+                .description("Comment events published to the stream hub")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedRateTask(registry::sweep, registry.sweepInterval());
+    }
+
+    public StreamSubscription subscribe(String featureCode, StreamSink<CommentStreamEvent> sink) {
+        return registry.subscribe(featureCode, sink);
+    }
+
+    /**
+     * Publishes the event to all subscribers of the feature.
+     * When called inside a transaction, delivery is deferred until the transaction commits.
+     */
+    public void publish(String featureCode, CommentStreamEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(featureCode, event);
+                }
+            });
+        } else {
+            dispatch(featureCode, event);
+        }
+    }
+
+    void sweep() {
+        registry.sweep();
+    }
+
+    private void dispatch(String featureCode, CommentStreamEvent event) {
+        publishedEvents.increment();
+        registry.dispatch(featureCode, event);
+    }
+}
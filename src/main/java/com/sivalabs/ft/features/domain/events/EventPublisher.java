@@ -1,19 +1,26 @@
 package com.sivalabs.ft.features.domain.events;
 
 import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.EventsProperties;
 import com.sivalabs.ft.features.domain.entities.Feature;
 import java.time.Instant;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 @Component
 public class EventPublisher {
     private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final ApplicationProperties properties;
+    private final EventsProperties topics;
 
+    @Autowired
     public EventPublisher(KafkaTemplate<String, Object> kafkaTemplate, ApplicationProperties properties) {
+        this(kafkaTemplate, properties.events());
+    }
+
+    EventPublisher(KafkaTemplate<String, Object> kafkaTemplate, EventsProperties topics) {
         this.kafkaTemplate = kafkaTemplate;
-        this.properties = properties;
+        this.topics = topics;
     }
 
     public void publishFeatureCreatedEvent(Feature feature) {
@@ -27,7 +34,7 @@ public class EventPublisher {
                 feature.getAssignedTo(),
                 feature.getCreatedBy(),
                 feature.getCreatedAt());
-        kafkaTemplate.send(properties.events().newFeatures(), event);
+        kafkaTemplate.send(topics.newFeatures(), event);
     }
 
     public void publishFeatureUpdatedEvent(Feature feature) {
@@ -43,7 +50,7 @@ public class EventPublisher {
                 feature.getCreatedAt(),
                 feature.getUpdatedBy(),
                 feature.getUpdatedAt());
-        kafkaTemplate.send(properties.events().updatedFeatures(), event);
+        kafkaTemplate.send(topics.updatedFeatures(), event);
     }
 
     public void publishFeatureDeletedEvent(Feature feature, String deletedBy, Instant deletedAt) {
@@ -61,6 +68,6 @@ public class EventPublisher {
                 feature.getUpdatedAt(),
                 deletedBy,
                 deletedAt);
-        kafkaTemplate.send(properties.events().deletedFeatures(), event);
+        kafkaTemplate.send(topics.deletedFeatures(), event);
     }
 }
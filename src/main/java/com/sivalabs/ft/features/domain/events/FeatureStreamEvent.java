@@ -0,0 +1,12 @@
+package com.sivalabs.ft.features.domain.events;
+
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+
+public record FeatureStreamEvent(Type type, String code, String title, FeatureStatus status, String releaseCode) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,100 @@
+package com.sivalabs.ft.features.domain.events;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.FeatureStreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process publish/subscribe hub for feature changes, keyed by product or release.
+ * <p>
+ * Subscribers are kept in a {@link StreamRegistry} of {@code ft.feature-stream.shards} shards: each gets a bounded
+ * buffer that drops its oldest pending event when the client cannot keep up, and idle ones get a heartbeat every
+ * {@code ft.feature-stream.heartbeat-interval} so that dead connections are closed. The hub writes events on
+ * virtual threads of its own and gives up on clients whose write blocked for longer than
+ * {@code ft.feature-stream.write-timeout}.
+ */
+@Component
+public class FeatureStreamHub implements SchedulingConfigurer {
+    private final StreamRegistry<Topic, FeatureStreamEvent> registry;
+    private final Counter publishedEvents;
+
+    @Autowired
+    public FeatureStreamHub(ApplicationProperties properties, MeterRegistry meterRegistry) {
+        this(StreamRegistry.deliveryExecutor("feature"), properties.featureStream(), meterRegistry);
+    }
+
+    FeatureStreamHub(Executor executor, FeatureStreamProperties properties, MeterRegistry meterRegistry) {
+        this.registry = new StreamRegistry<>(
+                "feature",
+                executor,
+                properties.shards(),
+                properties.bufferSize(),
+                properties.heartbeatInterval(),
+                properties.writeTimeout(),
+                meterRegistry);
+        this.publishedEvents = Counter.builder("features.stream.events.published")
+                .description("Feature events published to the stream hub")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedRateTask(registry::sweep, registry.sweepInterval());
+    }
+
+    public StreamSubscription subscribeToProduct(Long productId, StreamSink<FeatureStreamEvent> sink) {
+        return registry.subscribe(new Topic(Topic.Kind.PRODUCT, productId), sink);
+    }
+
+    public StreamSubscription subscribeToRelease(Long releaseId, StreamSink<FeatureStreamEvent> sink) {
+        return registry.subscribe(new Topic(Topic.Kind.RELEASE, releaseId), sink);
+    }
+
+    /**
+     * Publishes the event to the subscribers of the product and of each given release, e.g. the releases a
+     * feature moved between. When called inside a transaction, delivery is deferred until the transaction
+     * commits.
+     */
+    public void publish(FeatureStreamEvent event, Long productId, Long... releaseIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event, productId, releaseIds);
+                }
+            });
+        } else {
+            dispatch(event, productId, releaseIds);
+        }
+    }
+
+    void sweep() {
+        registry.sweep();
+    }
+
+    private void dispatch(FeatureStreamEvent event, Long productId, Long... releaseIds) {
+        publishedEvents.increment();
+        registry.dispatch(new Topic(Topic.Kind.PRODUCT, productId), event);
+        Arrays.stream(releaseIds)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(releaseId -> registry.dispatch(new Topic(Topic.Kind.RELEASE, releaseId), event));
+    }
+
+    private record Topic(Kind kind, Long id) {
+        enum Kind {
+            PRODUCT,
+            RELEASE
+        }
+    }
+}
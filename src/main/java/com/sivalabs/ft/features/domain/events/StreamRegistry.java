@@ -0,0 +1,269 @@
+package com.sivalabs.ft.features.domain.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+/**
+ * Subscribers of an in-process event stream, keyed by topic.
+ * <p>
+ * Subscriptions are spread over a number of shards by topic. Each subscriber gets a bounded buffer, allocated on
+ * its first event, and drops its oldest pending event when it cannot keep up, so that a slow client never holds up
+ * the publisher or other subscribers. Idle subscriptions cost no thread and only a few objects.
+ * <p>
+ * Subscribers that sent nothing for the heartbeat interval get a heartbeat, and are closed when it cannot be
+ * written. {@link #sweep()} visits one shard at a time, so that heartbeats trickle out over the interval instead of
+ * all at once. It also closes and aborts subscribers whose current write has been blocked for longer than the
+ * write timeout.
+ * <p>
+ * Events are written on the given executor, one task per subscriber at a time. The hubs give each registry its
+ * own executor that starts a virtual thread per task, so that a client that stops reading only ever blocks its
+ * own thread, never the delivery to other subscribers or unrelated work.
+ *
+ * @param <T> the topic subscribers subscribe to
+ * @param <E> the events published to a topic
+ */
+final class StreamRegistry<T, E> {
+    private static final Logger log = LoggerFactory.getLogger(StreamRegistry.class);
+
+    private final String name;
+    private final List<Map<T, Set<Subscription>>> shards = new ArrayList<>();
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private final AtomicInteger activeSubscriptions = new AtomicInteger();
+    private final Executor executor;
+    private final int bufferSize;
+    private final Duration heartbeatInterval;
+    private final Duration writeTimeout;
+    private final Counter deliveredEvents;
+    private final Counter droppedEvents;
+    private final Counter heartbeats;
+    private final Counter writeTimeouts;
+
+    /**
+     * @param name the kind of events streamed, e.g. {@code comment}, which also names the meters
+     *     {@code <name>s.stream.*}
+     */
+    StreamRegistry(
+            String name,
+            Executor executor,
+            int shards,
+            int bufferSize,
+            Duration heartbeatInterval,
+            Duration writeTimeout,
+            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.heartbeatInterval = heartbeatInterval;
+        this.writeTimeout = writeTimeout;
+        for (int i = 0; i < shards; i++) {
+            this.shards.add(new ConcurrentHashMap<>());
+        }
+        String prefix = name + "s.stream";
+        String events = StringUtils.capitalize(name) + " events";
+        Gauge.builder(prefix + ".connections", activeSubscriptions, AtomicInteger::get)
+                .description("Number of open " + name + " stream connections")
+                .register(meterRegistry);
+        this.deliveredEvents = Counter.builder(prefix + ".events.delivered")
+                .description(events + " delivered to subscribers")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder(prefix + ".events.dropped")
+                .description(events + " dropped because a subscriber buffer was full")
+                .register(meterRegistry);
+        this.heartbeats = Counter.builder(prefix + ".heartbeats")
+                .description("Heartbeats sent to idle " + name + " stream subscribers")
+                .register(meterRegistry);
+        this.writeTimeouts = Counter.builder(prefix + ".write.timeouts")
+                .description(StringUtils.capitalize(name) + " stream subscribers closed because a write blocked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * An executor that writes each subscriber on its own virtual thread, named after the stream.
+     */
+    static Executor deliveryExecutor(String name) {
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(name + "-stream-", 0).factory());
+    }
+
+    /**
+     * How often {@link #sweep()} has to run for every subscriber to be visited once per heartbeat interval.
+     */
+    Duration sweepInterval() {
+        return heartbeatInterval.dividedBy(shards.size());
+    }
+
+    StreamSubscription subscribe(T topic, StreamSink<E> sink) {
+        Subscription subscription = new Subscription(topic, sink);
+        shard(topic).compute(topic, (key, subs) -> {
+            Set<Subscription> result = subs == null ? ConcurrentHashMap.newKeySet() : subs;
+            result.add(subscription);
+            return result;
+        });
+        activeSubscriptions.incrementAndGet();
+        return subscription;
+    }
+
+    void dispatch(T topic, E event) {
+        Set<Subscription> subs = shard(topic).get(topic);
+        if (subs == null) {
+            return;
+        }
+        for (Subscription subscription : subs) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Sends heartbeats to the idle subscribers of the next shard and aborts those with a blocked write.
+     */
+    void sweep() {
+        Map<T, Set<Subscription>> shard = shards.get(Math.floorMod(nextShard.getAndIncrement(), shards.size()));
+        long now = System.nanoTime();
+        for (Set<Subscription> subs : shard.values()) {
+            for (Subscription subscription : subs) {
+                subscription.sweep(now);
+            }
+        }
+    }
+
+    private Map<T, Set<Subscription>> shard(T topic) {
+        return shards.get(Math.floorMod(topic.hashCode(), shards.size()));
+    }
+
+    private final class Subscription implements StreamSubscription {
+        private final T topic;
+        private final StreamSink<E> sink;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private ArrayDeque<E> buffer;
+        private volatile boolean heartbeatDue;
+        private volatile long lastActivity = System.nanoTime();
+        private volatile boolean writing;
+        private volatile long writeStartedAt;
+
+        private Subscription(T topic, StreamSink<E> sink) {
+            this.topic = topic;
+            this.sink = sink;
+        }
+
+        private void offer(E event) {
+            synchronized (this) {
+                if (buffer == null) {
+                    buffer = new ArrayDeque<>(Math.min(bufferSize, 8));
+                } else if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    droppedEvents.increment();
+                }
+                buffer.addLast(event);
+            }
+            scheduleDrain();
+        }
+
+        private void sweep(long now) {
+            if (writing && now - writeStartedAt >= writeTimeout.toNanos()) {
+                abort();
+            } else if (now - lastActivity >= heartbeatInterval.toNanos()) {
+                heartbeatDue = true;
+                scheduleDrain();
+            }
+        }
+
+        /**
+         * Gives up on a client that stopped reading. The blocked write itself only returns once the container
+         * fails it, so the sink is aborted on the executor rather than on the sweeping thread.
+         */
+        private void abort() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            log.debug("Closing {} stream for {}: write blocked for more than {}", name, topic, writeTimeout);
+            writeTimeouts.increment();
+            release();
+            executor.execute(sink::abort);
+        }
+
+        private void scheduleDrain() {
+            if (!closed.get() && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                E event;
+                while (!closed.get() && (event = poll()) != null) {
+                    startWrite();
+                    sink.send(event);
+                    writing = false;
+                    deliveredEvents.increment();
+                    lastActivity = System.nanoTime();
+                    heartbeatDue = false;
+                }
+                if (!closed.get() && heartbeatDue) {
+                    heartbeatDue = false;
+                    startWrite();
+                    sink.heartbeat();
+                    writing = false;
+                    heartbeats.increment();
+                    lastActivity = System.nanoTime();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Closing {} stream for {}: {}", name, topic, e.getMessage());
+                close();
+            } finally {
+                writing = false;
+                draining.set(false);
+            }
+            if (hasPending()) {
+                scheduleDrain();
+            }
+        }
+
+        private void startWrite() {
+            writeStartedAt = System.nanoTime();
+            writing = true;
+        }
+
+        private synchronized E poll() {
+            return buffer == null ? null : buffer.pollFirst();
+        }
+
+        private synchronized boolean hasPending() {
+            return (buffer != null && !buffer.isEmpty()) || heartbeatDue;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release();
+            }
+        }
+
+        private void release() {
+            shard(topic).computeIfPresent(topic, (key, subs) -> {
+                subs.remove(this);
+                return subs.isEmpty() ? null : subs;
+            });
+            activeSubscriptions.decrementAndGet();
+            synchronized (this) {
+                buffer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.sivalabs.ft.features.domain.events;
+
+import java.io.IOException;
+
+/**
+ * Writes the events of a stream subscription to its client.
+ */
+public interface StreamSink<E> {
+    void send(E event) throws IOException;
+
+    /**
+     * Writes something the client ignores, to find out whether the connection is still alive.
+     */
+    void heartbeat() throws IOException;
+
+    /**
+     * Gives up on the client after a write blocked for too long, e.g. by completing the response with an error.
+     * Called while that write may still be blocked.
+     */
+    void abort();
+}
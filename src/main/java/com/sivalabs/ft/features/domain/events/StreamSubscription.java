@@ -0,0 +1,9 @@
+package com.sivalabs.ft.features.domain.events;
+
+/**
+ * A subscription to a stream hub; closing it stops delivery and frees its buffer.
+ */
+public interface StreamSubscription extends AutoCloseable {
+    @Override
+    void close();
+}
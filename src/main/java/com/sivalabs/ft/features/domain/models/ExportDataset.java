@@ -0,0 +1,7 @@
+package com.sivalabs.ft.features.domain.models;
+
+public enum ExportDataset {
+    FEATURES,
+    COMMENTS,
+    FAVORITES
+}
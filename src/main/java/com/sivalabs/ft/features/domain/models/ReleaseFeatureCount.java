@@ -0,0 +1,13 @@
+package com.sivalabs.ft.features.domain.models;
+
+/**
+ * Number of features of a release in one status. A projection so that native queries, which read the status as
+ * text, can return it as well.
+ */
+public interface ReleaseFeatureCount {
+    Long getReleaseId();
+
+    FeatureStatus getStatus();
+
+    long getFeatureCount();
+}
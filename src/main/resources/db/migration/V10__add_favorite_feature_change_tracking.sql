@@ -0,0 +1,31 @@
+-- Favoriting a feature does not write the feature row, so each user's favorites are stamped separately, with the
+-- id of the transaction that last added or removed them, for a delta sync to return features whose favorite
+-- flag changed. The stamp outlives the favorite it records, so removals are synced too.
+create table favorite_feature_changes
+(
+    user_id    varchar(255) not null,
+    feature_id bigint       not null references features (id) on delete cascade,
+    change_seq bigint       not null,
+    primary key (user_id, feature_id)
+);
+
+create index idx_favorite_feature_changes_user_id_change_seq on favorite_feature_changes (user_id, change_seq);
+
+create function favorite_features_stamp_change() returns trigger
+    language plpgsql as
+$$
+declare
+    favorite favorite_features := case when tg_op = 'DELETE' then old else new end;
+begin
+    insert into favorite_feature_changes (user_id, feature_id, change_seq)
+    values (favorite.user_id, favorite.feature_id, pg_current_xact_id()::text::bigint)
+    on conflict (user_id, feature_id) do update set change_seq = excluded.change_seq;
+    return null;
+end
+$$;
+
+create trigger favorite_features_change_seq
+    after insert or delete
+    on favorite_features
+    for each row
+execute function favorite_features_stamp_change();
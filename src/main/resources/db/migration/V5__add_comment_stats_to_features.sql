@@ -0,0 +1,10 @@
+alter table features add column comment_count integer not null default 0;
+alter table features add column last_commented_at timestamp;
+
+update features f
+set comment_count     = c.cnt,
+    last_commented_at = c.last_created_at
+from (select feature_id, count(*) as cnt, max(created_at) as last_created_at
+      from comments
+      group by feature_id) c
+where f.id = c.feature_id;
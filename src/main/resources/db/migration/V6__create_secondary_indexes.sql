@@ -0,0 +1,5 @@
+create index idx_features_product_id on features (product_id);
+create index idx_features_release_id_status on features (release_id, status);
+create index idx_releases_product_id on releases (product_id);
+create index idx_comments_feature_id_created_at on comments (feature_id, created_at);
+create index idx_favorite_features_user_id_feature_id on favorite_features (user_id, feature_id);
@@ -0,0 +1,14 @@
+create table release_feature_stats
+(
+    release_id    bigint      not null,
+    status        varchar(50) not null,
+    feature_count bigint      not null default 0,
+    primary key (release_id, status),
+    constraint fk_release_feature_stats_release_id foreign key (release_id) references releases (id) on delete cascade
+);
+
+insert into release_feature_stats (release_id, status, feature_count)
+select release_id, status, count(*)
+from features
+where release_id is not null
+group by release_id, status;
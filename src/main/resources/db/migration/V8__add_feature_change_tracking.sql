@@ -0,0 +1,40 @@
+-- Rows are stamped with the id of the transaction that last wrote them. Unlike a sequence value, it can be
+-- compared against the oldest transaction still running, so a sync never skips a change committed late.
+alter table features add column change_seq bigint not null default 0;
+
+create function features_set_change_seq() returns trigger
+    language plpgsql as
+$$
+begin
+    new.change_seq := pg_current_xact_id()::text::bigint;
+    return new;
+end
+$$;
+
+create trigger features_change_seq
+    before insert or update
+    on features
+    for each row
+execute function features_set_change_seq();
+
+-- also serves lookups by product_id alone
+drop index idx_features_product_id;
+create index idx_features_product_id_change_seq on features (product_id, change_seq);
+
+create table feature_tombstones
+(
+    code       varchar(50) not null primary key,
+    product_id bigint      not null,
+    change_seq bigint      not null,
+    deleted_at timestamp   not null
+);
+
+create index idx_feature_tombstones_product_id_change_seq on feature_tombstones (product_id, change_seq);
+
+-- tombstones up to this change have been purged; older sync tokens cannot see every deletion anymore
+create table feature_tombstone_horizon
+(
+    change_seq bigint not null
+);
+
+insert into feature_tombstone_horizon (change_seq) values (0);
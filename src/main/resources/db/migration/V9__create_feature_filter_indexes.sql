@@ -0,0 +1,13 @@
+-- Feature listings are scoped to a product or a release, so each common filter combination is a range scan
+-- on one of these, already in created_at order.
+create index idx_features_product_id_status_created_at on features (product_id, status, created_at);
+create index idx_features_product_id_assigned_to_created_at on features (product_id, assigned_to, created_at);
+create index idx_features_product_id_created_by_created_at on features (product_id, created_by, created_at);
+create index idx_features_product_id_created_at on features (product_id, created_at);
+
+-- the backlog: features not planned for any release
+create index idx_features_unreleased_product_id_created_at on features (product_id, created_at)
+    where release_id is null;
+
+drop index idx_features_release_id_status;
+create index idx_features_release_id_status_created_at on features (release_id, status, created_at);
@@ -2,18 +2,50 @@ package com.sivalabs.ft.features;
 
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
+import com.sivalabs.ft.features.config.AnonymousResponseCacheFilter;
+import com.sivalabs.ft.features.config.SqlStatementBudgetFilter;
+import com.sivalabs.ft.features.domain.ReferenceDataCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.assertj.MockMvcTester;
+import org.springframework.test.web.servlet.assertj.MvcTestResult;
 
-@SpringBootTest(webEnvironment = RANDOM_PORT)
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = "ft.sql-budget.fail-on-exceed=true")
 @AutoConfigureMockMvc
 @Import(TestcontainersConfiguration.class)
 @Sql(scripts = {"/test-data.sql"})
 public abstract class AbstractIT {
     @Autowired
     protected MockMvcTester mvc;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectProvider<AnonymousResponseCacheFilter> responseCache;
+
+    @BeforeEach
+    void reloadReferenceData() {
+        // test-data.sql rewrites the tables behind the application's back
+        entityManagerFactory.getCache().evictAll();
+        referenceDataCache.reload();
+        responseCache.ifAvailable(AnonymousResponseCacheFilter::invalidateAll);
+    }
+
+    /**
+     * Returns the number of SQL statements the request issued.
+     */
+    protected static int statementCount(MvcTestResult result) {
+        return (int)
+                result.getMvcResult().getRequest().getAttribute(SqlStatementBudgetFilter.STATEMENT_COUNT_ATTRIBUTE);
+    }
 }
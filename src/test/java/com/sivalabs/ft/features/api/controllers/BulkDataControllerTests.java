@@ -0,0 +1,172 @@
+package com.sivalabs.ft.features.api.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jayway.jsonpath.JsonPath;
+import com.sivalabs.ft.features.AbstractIT;
+import com.sivalabs.ft.features.WithMockOAuth2User;
+import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.dtos.FeatureImportDto;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.assertj.MvcTestResult;
+
+class BulkDataControllerTests extends AbstractIT {
+    private static final String FEATURES_HEADER =
+            "code,product_code,release_code,title,description,status,assigned_to,created_by,created_at,updated_by,updated_at";
+
+    @Test
+    @WithMockOAuth2User(username = "admin", roles = "ADMIN")
+    void shouldExportFeaturesAsCsv() throws Exception {
+        var result = mvc.get().uri("/api/admin/exports/features").exchange();
+
+        assertThat(result)
+                .hasStatusOk()
+                .hasContentType("text/csv")
+                .hasHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"features.csv\"");
+        assertThat(result.getResponse().getContentAsString().lines())
+                .containsExactly(
+                        FEATURES_HEADER,
+                        "IDEA-1,intellij,IDEA-2023.3.8,Redesign Structure Tool Window,Redesign Structure Tool Window to show logical structure,NEW,marcobehler,siva,2024-02-24 00:00:00,,",
+                        "IDEA-2,intellij,IDEA-2023.3.8,SDJ Repository Method AutoCompletion,Spring Data JPA Repository Method AutoCompletion as you type,NEW,siva,daniiltsarev,2024-03-14 00:00:00,,",
+                        "GO-3,goland,,Make Go to Type and Go to Symbol dumb aware,Make Go to Type and Go to Symbol dumb aware,IN_PROGRESS,andreybelyaev,antonarhipov,2024-01-14 00:00:00,,");
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "admin", roles = "ADMIN")
+    void shouldExportFavoritesAsCsv() throws Exception {
+        var result = mvc.get().uri("/api/admin/exports/favorites").exchange();
+
+        assertThat(result).hasStatusOk();
+        assertThat(result.getResponse().getContentAsString().lines())
+                .containsExactly("feature_code,user_id", "IDEA-2,user");
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "admin", roles = "ADMIN")
+    void shouldRejectUnknownDataset() {
+        var result = mvc.get().uri("/api/admin/exports/products").exchange();
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldRequireAdminRole() {
+        assertThat(mvc.get().uri("/api/admin/exports/features").exchange()).hasStatus(HttpStatus.FORBIDDEN);
+        assertThat(importFeatures(FEATURES_HEADER + "\n")).hasStatus(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "admin", roles = "ADMIN")
+    void shouldUpdateFeaturesWithCodeAndCreateTheOthers() throws Exception {
+        var result = importFeatures(
+                """
+                %s
+                IDEA-1,intellij,IDEA-2024.2.3,Redesign Structure Tool Window,New description,IN_PROGRESS,marcobehler,,,,
+                IDEA-2,intellij,IDEA-2023.3.8,SDJ Repository Method AutoCompletion,Spring Data JPA Repository Method AutoCompletion as you type,NEW,siva,,,,
+                ,intellij,IDEA-2024.2.3,Imported Feature,"Imported, with a comma",NEW,john.doe,,,,
+                """
+                        .formatted(FEATURES_HEADER));
+
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureImportDto.class)
+                .isEqualTo(new FeatureImportDto(1, 1));
+
+        assertThat(mvc.get().uri("/api/features/{code}", "IDEA-1").exchange())
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureDto.class)
+                .satisfies(dto -> {
+                    assertThat(dto.description()).isEqualTo("New description");
+                    assertThat(dto.status()).isEqualTo(FeatureStatus.IN_PROGRESS);
+                    assertThat(dto.releaseCode()).isEqualTo("IDEA-2024.2.3");
+                    assertThat(dto.updatedBy()).isEqualTo("admin");
+                });
+        var features = mvc.get()
+                .uri("/api/features?releaseCode={code}", "IDEA-2024.2.3")
+                .exchange();
+        assertThat(features).hasStatusOk();
+        List<String> importedCodes = JsonPath.read(
+                features.getResponse().getContentAsString(),
+                "$[?(@.title == 'Imported Feature' && @.createdBy == 'admin')].code");
+        assertThat(importedCodes).singleElement().asString().matches("IDEA-\\d+");
+        assertThat(totalFeatures("IDEA-2023.3.8")).isEqualTo(1);
+        assertThat(totalFeatures("IDEA-2024.2.3")).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "admin", roles = "ADMIN")
+    void shouldImportItsOwnExportWithoutChanges() throws Exception {
+        String export = mvc.get()
+                .uri("/api/admin/exports/features")
+                .exchange()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(importFeatures(export))
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureImportDto.class)
+                .isEqualTo(new FeatureImportDto(0, 0));
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "admin", roles = "ADMIN")
+    void shouldRejectImportWithInvalidRows() {
+        var result = importFeatures(
+                """
+                %s
+                ,intellij,,Valid Feature,,NEW,,,,,
+                ,eclipse,,Unknown Product,,NEW,,,,,
+                IDEA-1,goland,,Other Product,,NEW,,,,,
+                ,intellij,GO-2024.2.3,Release Of Other Product,,NEW,,,,,
+                ,intellij,,Invalid Status,,DONE,,,,,
+                """
+                        .formatted(FEATURES_HEADER));
+
+        assertThat(result)
+                .hasStatus(HttpStatus.BAD_REQUEST)
+                .bodyJson()
+                .extractingPath("$.detail")
+                .isEqualTo("Invalid features on lines 3, 4, 5, 6");
+        assertThat(mvc.get().uri("/api/features?productCode={code}", "intellij").exchange())
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.size()")
+                .asNumber()
+                .isEqualTo(2);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "admin", roles = "ADMIN")
+    void shouldRejectImportWithUnexpectedColumns() {
+        var result = importFeatures("code,title\nIDEA-1,Title\n");
+
+        assertThat(result)
+                .hasStatus(HttpStatus.BAD_REQUEST)
+                .bodyJson()
+                .extractingPath("$.detail")
+                .asString()
+                .contains("header");
+    }
+
+    private MvcTestResult importFeatures(String csv) {
+        return mvc.post()
+                .uri("/api/admin/imports/features")
+                .contentType("text/csv")
+                .content(csv)
+                .exchange();
+    }
+
+    private long totalFeatures(String releaseCode) throws Exception {
+        var result = mvc.get().uri("/api/releases/{code}", releaseCode).exchange();
+        assertThat(result).hasStatusOk();
+        return JsonPath.<Number>read(result.getResponse().getContentAsString(), "$.stats.totalFeatures")
+                .longValue();
+    }
+}
@@ -4,11 +4,22 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.sivalabs.ft.features.AbstractIT;
 import com.sivalabs.ft.features.WithMockOAuth2User;
+import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.entities.Product;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 class CommentControllerTests extends AbstractIT {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     @Test
     @WithMockOAuth2User(username = "user")
@@ -28,6 +39,49 @@ class CommentControllerTests extends AbstractIT {
                 .exchange();
 
         assertThat(result).hasStatus(HttpStatus.CREATED);
+        assertThat(statementCount(result)).isEqualTo(3);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldUpdateFeatureCommentCount() {
+        var payload =
+                """
+                {
+                    "featureCode": "IDEA-2",
+                    "content": "First comment on IDEA-2"
+                }
+                """;
+        var result = mvc.post()
+                .uri("/api/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload)
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.CREATED);
+        assertThat(statementCount(result)).isEqualTo(3);
+
+        var featureResult = mvc.get().uri("/api/features/{code}", "IDEA-2").exchange();
+        assertThat(featureResult)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureDto.class)
+                .satisfies(dto -> {
+                    assertThat(dto.commentCount()).isEqualTo(1);
+                    assertThat(dto.lastCommentedAt()).isNotNull();
+                });
+        assertThat(statementCount(featureResult)).isEqualTo(2);
+
+        var deleteResult = mvc.delete().uri("/api/comments/{commentId}", 1).exchange();
+        assertThat(deleteResult).hasStatus(HttpStatus.NO_CONTENT);
+        assertThat(statementCount(deleteResult)).isEqualTo(2);
+
+        var ideaResult = mvc.get().uri("/api/features/{code}", "IDEA-1").exchange();
+        assertThat(ideaResult)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureDto.class)
+                .satisfies(dto -> assertThat(dto.commentCount()).isEqualTo(2));
+        assertThat(statementCount(ideaResult)).isEqualTo(2);
     }
 
     @Test
@@ -48,6 +102,7 @@ class CommentControllerTests extends AbstractIT {
                 .exchange();
 
         assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
+        assertThat(statementCount(result)).isEqualTo(1);
     }
 
     @Test
@@ -61,6 +116,8 @@ class CommentControllerTests extends AbstractIT {
                 .asNumber()
                 .extracting(Number::intValue)
                 .satisfies(size -> assertThat(size).isGreaterThanOrEqualTo(0));
+        // page and count query
+        assertThat(statementCount(result)).isEqualTo(2);
     }
 
     @Test
@@ -70,6 +127,7 @@ class CommentControllerTests extends AbstractIT {
                 .exchange();
 
         assertThat(result).hasStatusOk();
+        assertThat(statementCount(result)).isEqualTo(2);
     }
 
     @Test
@@ -80,6 +138,7 @@ class CommentControllerTests extends AbstractIT {
         var deleteResult = mvc.delete().uri("/api/comments/{commentId}", 1).exchange();
 
         assertThat(deleteResult).hasStatus(HttpStatus.NO_CONTENT);
+        assertThat(statementCount(deleteResult)).isEqualTo(2);
     }
 
     @Test
@@ -88,5 +147,32 @@ class CommentControllerTests extends AbstractIT {
         var result = mvc.delete().uri("/api/comments/{commentId}", 999).exchange();
 
         assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+        assertThat(statementCount(result)).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldKeepCachedProductsWhenCommentsChange() {
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(
+                        status -> entityManagerFactory.createEntityManager().find(Product.class, 1L));
+        assertThat(entityManagerFactory.getCache().contains(Product.class, 1L)).isTrue();
+
+        var addResult = mvc.post()
+                .uri("/api/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                    {
+                        "featureCode": "IDEA-1",
+                        "content": "This is a test comment"
+                    }
+                    """)
+                .exchange();
+        assertThat(addResult).hasStatus(HttpStatus.CREATED);
+        var deleteResult = mvc.delete().uri("/api/comments/{commentId}", 1).exchange();
+        assertThat(deleteResult).hasStatus(HttpStatus.NO_CONTENT);
+
+        assertThat(entityManagerFactory.getCache().contains(Product.class, 1L)).isTrue();
     }
 }
@@ -17,6 +17,7 @@ class FavoriteFeatureControllerTests extends AbstractIT {
                 .uri("/api/features/{featureCode}/favorites", featureCode)
                 .exchange();
         assertThat(result).hasStatus(HttpStatus.CREATED);
+        assertThat(statementCount(result)).isEqualTo(3);
     }
 
     @Test
@@ -27,6 +28,7 @@ class FavoriteFeatureControllerTests extends AbstractIT {
                 .uri("/api/features/{featureCode}/favorites", invalidFeatureCode)
                 .exchange();
         assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+        assertThat(statementCount(result)).isEqualTo(1);
     }
 
     @Test
@@ -41,6 +43,7 @@ class FavoriteFeatureControllerTests extends AbstractIT {
                 .uri("/api/features/{featureId}/favorites", featureCode)
                 .exchange();
         assertThat(result).hasStatus(HttpStatus.NO_CONTENT);
+        assertThat(statementCount(result)).isEqualTo(1);
     }
 
     @Test
@@ -51,6 +54,7 @@ class FavoriteFeatureControllerTests extends AbstractIT {
                 .uri("/api/features/{featureCode}/favorites", invalidFeatureCode)
                 .exchange();
         assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+        assertThat(statementCount(result)).isEqualTo(1);
     }
 
     @Test
@@ -62,6 +66,7 @@ class FavoriteFeatureControllerTests extends AbstractIT {
                 .uri("/api/features/{featureCode}/favorites", featureCode)
                 .exchange();
         assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+        assertThat(statementCount(result)).isEqualTo(2);
     }
 
     @Test
@@ -72,5 +77,6 @@ class FavoriteFeatureControllerTests extends AbstractIT {
                 .uri("/api/features/{featureCode}/favorites", nonExistentFeatureCode)
                 .exchange();
         assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+        assertThat(statementCount(result)).isEqualTo(1);
     }
 }
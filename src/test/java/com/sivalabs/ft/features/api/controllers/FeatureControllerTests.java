@@ -2,15 +2,38 @@ package com.sivalabs.ft.features.api.controllers;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.jayway.jsonpath.JsonPath;
 import com.sivalabs.ft.features.AbstractIT;
 import com.sivalabs.ft.features.WithMockOAuth2User;
+import com.sivalabs.ft.features.domain.dtos.FeatureChangesDto;
 import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.events.FeatureStreamEvent;
+import com.sivalabs.ft.features.domain.events.FeatureStreamHub;
+import com.sivalabs.ft.features.domain.events.StreamSink;
 import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.assertj.MvcTestResult;
 
 class FeatureControllerTests extends AbstractIT {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FeatureStreamHub featureStreamHub;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Test
     void shouldGetFeaturesByReleaseCode() {
@@ -23,6 +46,78 @@ class FeatureControllerTests extends AbstractIT {
                 .extractingPath("$.size()")
                 .asNumber()
                 .isEqualTo(2);
+        // a single query however many features the release has
+        assertThat(statementCount(result)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectFeatureListingWithoutExactlyOneOfProductOrRelease() {
+        assertThat(mvc.get().uri("/api/features").exchange()).hasStatus(HttpStatus.BAD_REQUEST);
+        assertThat(mvc.get()
+                        .uri("/api/features?productCode={product}&releaseCode={release}", "intellij", "IDEA-2023.3.8")
+                        .exchange())
+                .hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldFilterFeaturesByCriteria() {
+        assertThat(featureCodes("/api/features?productCode=intellij&status=IN_PROGRESS&status=ON_HOLD"))
+                .isEmpty();
+        assertThat(featureCodes("/api/features?productCode=goland&status=IN_PROGRESS"))
+                .containsExactly("GO-3");
+        assertThat(featureCodes("/api/features?productCode=intellij&assignedTo=siva"))
+                .containsExactly("IDEA-2");
+        assertThat(featureCodes("/api/features?releaseCode=IDEA-2023.3.8&createdBy=siva&status=NEW"))
+                .containsExactly("IDEA-1");
+        assertThat(featureCodes("/api/features?productCode=intellij&createdFrom=2024-03-01T00:00:00Z"))
+                .containsExactly("IDEA-2");
+        assertThat(featureCodes("/api/features?productCode=goland&unreleased=true"))
+                .containsExactly("GO-3");
+        assertThat(featureCodes("/api/features?productCode=intellij&unreleased=true"))
+                .isEmpty();
+    }
+
+    @Test
+    void shouldSortFilteredFeatures() {
+        var result = mvc.get()
+                .uri("/api/features?productCode=intellij&status=NEW&sort=createdAt,desc")
+                .exchange();
+        assertThat(result).hasStatusOk();
+        assertThat(featureCodes(result)).containsExactly("IDEA-2", "IDEA-1");
+        // a single query for any combination of criteria
+        assertThat(statementCount(result)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectInvalidFilterOrSort() {
+        assertThat(mvc.get()
+                        .uri("/api/features?productCode=intellij&status=DONE")
+                        .exchange())
+                .hasStatus(HttpStatus.BAD_REQUEST);
+        assertThat(mvc.get()
+                        .uri("/api/features?productCode=intellij&sort=description")
+                        .exchange())
+                .hasStatus(HttpStatus.BAD_REQUEST);
+        assertThat(mvc.get()
+                        .uri("/api/features?releaseCode=IDEA-2023.3.8&unreleased=true")
+                        .exchange())
+                .hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldGetFeaturesByReleaseCodeAsCbor() throws Exception {
+        var result = mvc.get()
+                .uri("/api/features?releaseCode={code}", "IDEA-2023.3.8")
+                .accept(MediaType.valueOf("application/cbor"))
+                .exchange();
+        assertThat(result).hasStatusOk().hasContentType("application/cbor");
+
+        ObjectMapper cborMapper = CBORMapper.builder().findAndAddModules().build();
+        FeatureDto[] features = cborMapper.readValue(result.getResponse().getContentAsByteArray(), FeatureDto[].class);
+        assertThat(features).hasSize(2).allSatisfy(dto -> {
+            assertThat(dto.releaseCode()).isEqualTo("IDEA-2023.3.8");
+            assertThat(dto.createdAt()).isNotNull();
+        });
     }
 
     @Test
@@ -32,12 +127,14 @@ class FeatureControllerTests extends AbstractIT {
         assertThat(result).hasStatusOk().bodyJson().convertTo(FeatureDto.class).satisfies(dto -> {
             assertThat(dto.code()).isEqualTo(code);
         });
+        assertThat(statementCount(result)).isEqualTo(1);
     }
 
     @Test
     void shouldReturn404WhenFeatureNotFound() {
         var result = mvc.get().uri("/api/features/{code}", "INVALID_CODE").exchange();
         assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
+        assertThat(statementCount(result)).isEqualTo(1);
     }
 
     @Test
@@ -60,6 +157,8 @@ class FeatureControllerTests extends AbstractIT {
                 .content(payload)
                 .exchange();
         assertThat(result).hasStatus(HttpStatus.CREATED);
+        // feature code sequence, insert and the release's feature counter
+        assertThat(statementCount(result)).isEqualTo(3);
         String location = result.getMvcResult().getResponse().getHeader("Location");
 
         // Verify creation
@@ -77,6 +176,101 @@ class FeatureControllerTests extends AbstractIT {
                     assertThat(dto.description()).isEqualTo("New feature description");
                     assertThat(dto.assignedTo()).isEqualTo("john.doe");
                 });
+        // feature and the caller's favorite status
+        assertThat(statementCount(getResult)).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldCreateFeatureForReleaseMissingFromReferenceData() {
+        // created by another instance, this one has not reloaded its reference data yet
+        jdbcTemplate.update(
+                """
+                insert into releases (id, product_id, code, description, status, created_by)
+                values (1000, 1, 'IDEA-2025.2', 'IntelliJ IDEA 2025.2', 'DRAFT', 'admin')
+                """);
+        var result = mvc.post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                    {
+                        "productCode": "intellij",
+                        "releaseCode": "IDEA-2025.2",
+                        "title": "New Feature"
+                    }
+                    """)
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.CREATED);
+
+        var getResult =
+                mvc.get().uri(result.getResponse().getHeader("Location")).exchange();
+        assertThat(getResult)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureDto.class)
+                .satisfies(dto -> assertThat(dto.releaseCode()).isEqualTo("IDEA-2025.2"));
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldCreateFeatureForReleaseCreatedElsewhereAfterAMiss() {
+        var payload =
+                """
+            {
+                "productCode": "intellij",
+                "releaseCode": "IDEA-2025.3",
+                "title": "New Feature"
+            }
+            """;
+        assertThat(mvc.post()
+                        .uri("/api/features")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .hasStatus(HttpStatus.BAD_REQUEST);
+
+        jdbcTemplate.update(
+                """
+                insert into releases (id, product_id, code, description, status, created_by)
+                values (1001, 1, 'IDEA-2025.3', 'IntelliJ IDEA 2025.3', 'DRAFT', 'admin')
+                """);
+
+        assertThat(mvc.post()
+                        .uri("/api/features")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .hasStatus(HttpStatus.CREATED);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldNotCreateFeatureForUnknownProductOrRelease() {
+        var unknownProduct = mvc.post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                    {
+                        "productCode": "eclipse",
+                        "title": "New Feature"
+                    }
+                    """)
+                .exchange();
+        assertThat(unknownProduct).hasStatus(HttpStatus.BAD_REQUEST);
+
+        var unknownRelease = mvc.post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                    {
+                        "productCode": "intellij",
+                        "releaseCode": "IDEA-2099.1",
+                        "title": "New Feature"
+                    }
+                    """)
+                .exchange();
+        assertThat(unknownRelease).hasStatus(HttpStatus.BAD_REQUEST);
     }
 
     @Test
@@ -98,6 +292,8 @@ class FeatureControllerTests extends AbstractIT {
                 .content(payload)
                 .exchange();
         assertThat(result).hasStatusOk();
+        // select, update and the release's feature counters
+        assertThat(statementCount(result)).isEqualTo(3);
 
         // Verify the update
         var updatedFeature = mvc.get().uri("/api/features/{code}", "IDEA-1").exchange();
@@ -111,6 +307,7 @@ class FeatureControllerTests extends AbstractIT {
                     assertThat(dto.assignedTo()).isEqualTo("jane.doe");
                     assertThat(dto.status()).isEqualTo(FeatureStatus.IN_PROGRESS);
                 });
+        assertThat(statementCount(updatedFeature)).isEqualTo(2);
     }
 
     @Test
@@ -118,9 +315,244 @@ class FeatureControllerTests extends AbstractIT {
     void shouldDeleteFeature() {
         var result = mvc.delete().uri("/api/features/{code}", "IDEA-2").exchange();
         assertThat(result).hasStatusOk();
+        // comments, favorites, the feature itself and its release's feature counter
+        assertThat(statementCount(result)).isEqualTo(4);
 
         // Verify deletion
         var getResult = mvc.get().uri("/api/features/{code}", "IDEA-2").exchange();
         assertThat(getResult).hasStatus(HttpStatus.NOT_FOUND);
+        assertThat(statementCount(getResult)).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldDeleteFeatureWithComments() {
+        var result = mvc.delete().uri("/api/features/{code}", "IDEA-1").exchange();
+        assertThat(result).hasStatusOk();
+        assertThat(statementCount(result)).isEqualTo(4);
+
+        var getResult = mvc.get().uri("/api/features/{code}", "IDEA-1").exchange();
+        assertThat(getResult).hasStatus(HttpStatus.NOT_FOUND);
+        assertThat(statementCount(getResult)).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldReturn404WhenDeletingNonExistingFeature() {
+        var result = mvc.delete().uri("/api/features/{code}", "INVALID_CODE").exchange();
+        assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
+        assertThat(statementCount(result)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReturnAllFeaturesOnFirstSync() {
+        var result = mvc.get()
+                .uri("/api/features/changes?productCode={code}", "intellij")
+                .exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureChangesDto.class)
+                .satisfies(changes -> {
+                    assertThat(changes.reset()).isTrue();
+                    assertThat(changes.token()).isNotBlank();
+                    assertThat(changes.changed())
+                            .extracting(FeatureDto::code)
+                            .containsExactlyInAnyOrder("IDEA-1", "IDEA-2");
+                    assertThat(changes.deleted()).isEmpty();
+                });
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldReturnOnlyFeaturesChangedSinceToken() throws Exception {
+        String token = syncToken("intellij");
+        var update = mvc.put()
+                .uri("/api/features/{code}", "IDEA-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                    {
+                        "title": "Updated Feature",
+                        "description": "Updated description",
+                        "assignedTo": "jane.doe",
+                        "status": "IN_PROGRESS"
+                    }
+                    """)
+                .exchange();
+        assertThat(update).hasStatusOk();
+        assertThat(mvc.delete().uri("/api/features/{code}", "IDEA-2")).hasStatusOk();
+
+        var result = mvc.get()
+                .uri("/api/features/changes?productCode={code}&since={token}", "intellij", token)
+                .exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureChangesDto.class)
+                .satisfies(changes -> {
+                    assertThat(changes.reset()).isFalse();
+                    assertThat(changes.changed()).extracting(FeatureDto::code).containsExactly("IDEA-1");
+                    assertThat(changes.deleted()).containsExactly("IDEA-2");
+                });
+        // sync horizon, tombstone horizon, favorite changes, changed features, tombstones and favorites
+        assertThat(statementCount(result)).isEqualTo(6);
+    }
+
+    @Test
+    void shouldReturnNothingWhenNothingChanged() throws Exception {
+        String token = syncToken("intellij");
+
+        var result = mvc.get()
+                .uri("/api/features/changes?productCode={code}&since={token}", "intellij", token)
+                .exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureChangesDto.class)
+                .satisfies(changes -> {
+                    assertThat(changes.reset()).isFalse();
+                    assertThat(changes.changed()).isEmpty();
+                    assertThat(changes.deleted()).isEmpty();
+                });
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldReturnFeaturesWhoseFavoriteFlagChangedSinceToken() throws Exception {
+        String token = syncToken("intellij");
+        assertThat(mvc.delete().uri("/api/features/{code}/favorites", "IDEA-2")).hasStatus(HttpStatus.NO_CONTENT);
+
+        FeatureChangesDto unfavorited = featureChanges("intellij", token);
+        assertThat(unfavorited.changed()).singleElement().satisfies(feature -> {
+            assertThat(feature.code()).isEqualTo("IDEA-2");
+            assertThat(feature.isFavorite()).isFalse();
+        });
+
+        assertThat(mvc.post().uri("/api/features/{code}/favorites", "IDEA-2")).hasStatus(HttpStatus.CREATED);
+
+        FeatureChangesDto favorited = featureChanges("intellij", unfavorited.token());
+        assertThat(favorited.changed()).singleElement().satisfies(feature -> {
+            assertThat(feature.code()).isEqualTo("IDEA-2");
+            assertThat(feature.isFavorite()).isTrue();
+        });
+    }
+
+    @Test
+    void shouldResetClientsWithTokensOlderThanPurgedTombstones() throws Exception {
+        String token = syncToken("intellij");
+        jdbcTemplate.update("update feature_tombstone_horizon set change_seq = ?", Long.parseLong(token));
+
+        var result = mvc.get()
+                .uri("/api/features/changes?productCode={code}&since={token}", "intellij", token)
+                .exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureChangesDto.class)
+                .satisfies(changes -> {
+                    assertThat(changes.reset()).isTrue();
+                    assertThat(changes.changed()).hasSize(2);
+                });
+    }
+
+    @Test
+    void shouldRejectInvalidSyncToken() {
+        var result = mvc.get()
+                .uri("/api/features/changes?productCode={code}&since={token}", "intellij", "yesterday")
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldReturn404WhenSyncingUnknownProduct() {
+        var result = mvc.get()
+                .uri("/api/features/changes?productCode={code}", "INVALID_CODE")
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void shouldOpenFeatureStreamForRelease() {
+        var result = mvc.get()
+                .uri("/api/features/stream?releaseCode={code}", "IDEA-2023.3.8")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .asyncExchange();
+        assertThat(result.getMvcResult().getRequest().isAsyncStarted()).isTrue();
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldStreamFeatureChangesOnceCommitted() throws Exception {
+        BlockingQueue<FeatureStreamEvent> received = new LinkedBlockingQueue<>();
+        try (var subscription = featureStreamHub.subscribeToRelease(1L, new StreamSink<>() {
+            @Override
+            public void send(FeatureStreamEvent event) {
+                received.add(event);
+            }
+
+            @Override
+            public void heartbeat() {}
+
+            @Override
+            public void abort() {}
+        })) {
+            assertThat(mvc.delete().uri("/api/features/{code}", "IDEA-2")).hasStatusOk();
+
+            assertThat(received.poll(5, TimeUnit.SECONDS))
+                    .isEqualTo(new FeatureStreamEvent(
+                            FeatureStreamEvent.Type.DELETED,
+                            "IDEA-2",
+                            "SDJ Repository Method AutoCompletion",
+                            FeatureStatus.NEW,
+                            "IDEA-2023.3.8"));
+        }
+    }
+
+    @Test
+    void shouldRejectFeatureStreamWithoutProductOrRelease() {
+        var result = mvc.get()
+                .uri("/api/features/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldReturn404WhenStreamingUnknownRelease() {
+        var result = mvc.get()
+                .uri("/api/features/stream?releaseCode={code}", "INVALID_CODE")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
+    }
+
+    private List<String> featureCodes(String uri) {
+        var result = mvc.get().uri(uri).exchange();
+        assertThat(result).hasStatusOk();
+        return featureCodes(result);
+    }
+
+    private static List<String> featureCodes(MvcTestResult result) {
+        try {
+            return JsonPath.read(result.getResponse().getContentAsString(), "$[*].code");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private FeatureChangesDto featureChanges(String productCode, String token) throws Exception {
+        var result = mvc.get()
+                .uri("/api/features/changes?productCode={code}&since={token}", productCode, token)
+                .exchange();
+        assertThat(result).hasStatusOk();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), FeatureChangesDto.class);
+    }
+
+    private String syncToken(String productCode) throws Exception {
+        var result = mvc.get()
+                .uri("/api/features/changes?productCode={code}", productCode)
+                .exchange();
+        return JsonPath.read(result.getResponse().getContentAsString(), "$.token");
     }
 }
@@ -2,9 +2,13 @@ package com.sivalabs.ft.features.api.controllers;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.jayway.jsonpath.JsonPath;
 import com.sivalabs.ft.features.AbstractIT;
 import com.sivalabs.ft.features.WithMockOAuth2User;
 import com.sivalabs.ft.features.domain.dtos.ProductDto;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -20,6 +24,21 @@ class ProductControllerTests extends AbstractIT {
                 .extractingPath("$.size()")
                 .asNumber()
                 .isEqualTo(5);
+        // served from the reference data snapshot
+        assertThat(statementCount(result)).isZero();
+    }
+
+    @Test
+    void shouldGetProductsAsSmile() throws Exception {
+        var result = mvc.get()
+                .uri("/api/products")
+                .accept(MediaType.valueOf("application/x-jackson-smile"))
+                .exchange();
+        assertThat(result).hasStatusOk().hasContentType("application/x-jackson-smile");
+
+        ObjectMapper smileMapper = SmileMapper.builder().findAndAddModules().build();
+        ProductDto[] products = smileMapper.readValue(result.getResponse().getContentAsByteArray(), ProductDto[].class);
+        assertThat(products).hasSize(5);
     }
 
     @Test
@@ -41,12 +60,64 @@ class ProductControllerTests extends AbstractIT {
                 .usingRecursiveComparison()
                 .comparingOnlyFields("code", "prefix", "name", "description", "imageUrl", "disabled", "createdBy")
                 .isEqualTo(expected);
+        assertThat(statementCount(actual)).isZero();
     }
 
     @Test
     void shouldReturn404WhenProductNotFound() {
         var actual = mvc.get().uri("/api/products/{code}", "INVALID_CODE").exchange();
         assertThat(actual).hasStatus(HttpStatus.NOT_FOUND);
+        assertThat(statementCount(actual)).isZero();
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldGetProductOverviewWithFeatureCountsPerRelease() throws Exception {
+        var result = mvc.get().uri("/api/products/{code}/overview", "intellij").exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .hasPathSatisfying("$.product.code", code -> code.assertThat().isEqualTo("intellij"))
+                .hasPathSatisfying(
+                        "$.releases[?(@.code == 'IDEA-2023.3.8')].stats.featureCounts.NEW",
+                        counts -> counts.assertThat().asArray().containsExactly(2))
+                .hasPathSatisfying(
+                        "$.releases[?(@.code == 'IDEA-2024.2.3')].stats.totalFeatures",
+                        totals -> totals.assertThat().asArray().containsExactly(0));
+        // the precomputed counters of the product's releases
+        assertThat(statementCount(result)).isEqualTo(1);
+
+        var created = mvc.post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                    {
+                        "productCode": "intellij",
+                        "releaseCode": "IDEA-2023.3.8",
+                        "title": "New Feature",
+                        "description": "New feature description"
+                    }
+                    """)
+                .exchange();
+        assertThat(created).hasStatus(HttpStatus.CREATED);
+
+        assertThat(mvc.get().uri("/api/products/{code}/overview", "intellij").exchange())
+                .hasStatusOk()
+                .bodyJson()
+                .hasPathSatisfying(
+                        "$.releases[?(@.code == 'IDEA-2023.3.8')].stats.featureCounts.NEW",
+                        counts -> counts.assertThat().asArray().containsExactly(3));
+        assertThat(releaseStats("/api/products/intellij/overview", "$.releases[*].stats"))
+                .isEqualTo(releaseStats("/api/releases?productCode=intellij", "$[*].stats"));
+    }
+
+    @Test
+    void shouldReturn404ForOverviewOfUnknownProduct() {
+        var result =
+                mvc.get().uri("/api/products/{code}/overview", "INVALID_CODE").exchange();
+        assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
+        assertThat(statementCount(result)).isZero();
     }
 
     @Test
@@ -69,6 +140,8 @@ class ProductControllerTests extends AbstractIT {
                 .content(payload)
                 .exchange();
         assertThat(result).hasStatus(HttpStatus.CREATED);
+        // insert, then the two reference data reload queries
+        assertThat(statementCount(result)).isEqualTo(3);
     }
 
     @Test
@@ -90,6 +163,7 @@ class ProductControllerTests extends AbstractIT {
                 .content(payload)
                 .exchange();
         assertThat(result).hasStatusOk();
+        assertThat(statementCount(result)).isEqualTo(4);
 
         // Verify the update
         var expected = new ProductDto(
@@ -109,5 +183,12 @@ class ProductControllerTests extends AbstractIT {
                 .usingRecursiveComparison()
                 .comparingOnlyFields("code", "prefix", "name", "description", "imageUrl", "disabled", "createdBy")
                 .isEqualTo(expected);
+        assertThat(statementCount(actual)).isZero();
+    }
+
+    private List<Object> releaseStats(String uri, String path) throws Exception {
+        var result = mvc.get().uri(uri).exchange();
+        assertThat(result).hasStatusOk();
+        return JsonPath.read(result.getResponse().getContentAsString(), path);
     }
 }
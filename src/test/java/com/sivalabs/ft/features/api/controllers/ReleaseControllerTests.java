@@ -5,12 +5,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.sivalabs.ft.features.AbstractIT;
 import com.sivalabs.ft.features.WithMockOAuth2User;
 import com.sivalabs.ft.features.domain.dtos.ReleaseDto;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
 import com.sivalabs.ft.features.domain.models.ReleaseStatus;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 class ReleaseControllerTests extends AbstractIT {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @Test
     void shouldGetReleasesByProductCode() {
@@ -22,6 +27,8 @@ class ReleaseControllerTests extends AbstractIT {
                 .extractingPath("$.size()")
                 .asNumber()
                 .isEqualTo(2);
+        // releases come from the reference data snapshot, their feature counters from one query
+        assertThat(statementCount(result)).isEqualTo(1);
     }
 
     @Test
@@ -31,12 +38,74 @@ class ReleaseControllerTests extends AbstractIT {
         assertThat(result).hasStatusOk().bodyJson().convertTo(ReleaseDto.class).satisfies(dto -> {
             assertThat(dto.code()).isEqualTo(code);
         });
+        assertThat(statementCount(result)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIncludeFeatureCountersOfEachRelease() {
+        var result =
+                mvc.get().uri("/api/releases?productCode={code}", "intellij").exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .hasPathSatisfying(
+                        "$[?(@.code == 'IDEA-2023.3.8')].stats.totalFeatures",
+                        total -> total.assertThat().asArray().containsExactly(2))
+                .hasPathSatisfying(
+                        "$[?(@.code == 'IDEA-2024.2.3')].stats.featureCounts.NEW",
+                        count -> count.assertThat().asArray().containsExactly(0));
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldKeepFeatureCountersUpToDate() {
+        var created = mvc.post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                    {
+                        "productCode": "intellij",
+                        "releaseCode": "IDEA-2023.3.8",
+                        "title": "New Feature",
+                        "description": "New feature description",
+                        "assignedTo": "john.doe"
+                    }
+                    """)
+                .exchange();
+        assertThat(created).hasStatus(HttpStatus.CREATED);
+        var updated = mvc.put()
+                .uri("/api/features/{code}", "IDEA-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                    {
+                        "releaseCode": "IDEA-2023.3.8",
+                        "title": "Updated Feature",
+                        "description": "Updated description",
+                        "assignedTo": "jane.doe",
+                        "status": "IN_PROGRESS"
+                    }
+                    """)
+                .exchange();
+        assertThat(updated).hasStatusOk();
+        assertThat(mvc.delete().uri("/api/features/{code}", "IDEA-2")).hasStatusOk();
+
+        var result = mvc.get().uri("/api/releases/{code}", "IDEA-2023.3.8").exchange();
+        assertThat(result).hasStatusOk().bodyJson().convertTo(ReleaseDto.class).satisfies(dto -> {
+            assertThat(dto.stats().totalFeatures()).isEqualTo(2);
+            assertThat(dto.stats().featureCounts())
+                    .containsEntry(FeatureStatus.NEW, 1L)
+                    .containsEntry(FeatureStatus.IN_PROGRESS, 1L)
+                    .containsEntry(FeatureStatus.RELEASED, 0L);
+        });
     }
 
     @Test
     void shouldReturn404WhenReleaseNotFound() {
         var result = mvc.get().uri("/api/releases/{code}", "INVALID_CODE").exchange();
         assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
+        assertThat(statementCount(result)).isZero();
     }
 
     @Test
@@ -57,6 +126,82 @@ class ReleaseControllerTests extends AbstractIT {
                 .content(payload)
                 .exchange();
         assertThat(result).hasStatus(HttpStatus.CREATED);
+        // insert, then the two reference data reload queries
+        assertThat(statementCount(result)).isEqualTo(3);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldCreateReleaseForProductMissingFromReferenceData() {
+        // created by another instance, this one has not reloaded its reference data yet
+        jdbcTemplate.update(
+                """
+                insert into products (id, code, prefix, name, image_url, created_by)
+                values (1000, 'fleet', 'FLEET', 'Fleet', 'https://www.jetbrains.com/fleet.png', 'admin')
+                """);
+        var result = mvc.post()
+                .uri("/api/releases")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                    {
+                        "productCode": "fleet",
+                        "code": "1.0",
+                        "description": "Fleet 1.0"
+                    }
+                    """)
+                .exchange();
+        assertThat(result)
+                .hasStatus(HttpStatus.CREATED)
+                .hasHeader("Location", "http://localhost/api/releases/FLEET-1.0");
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldCreateReleaseForProductCreatedElsewhereAfterAMiss() {
+        var payload =
+                """
+            {
+                "productCode": "toolbox",
+                "code": "2.0",
+                "description": "Toolbox 2.0"
+            }
+            """;
+        assertThat(mvc.post()
+                        .uri("/api/releases")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .hasStatus(HttpStatus.BAD_REQUEST);
+
+        jdbcTemplate.update(
+                """
+                insert into products (id, code, prefix, name, image_url, created_by)
+                values (1001, 'toolbox', 'TBX', 'Toolbox', 'https://www.jetbrains.com/toolbox.png', 'admin')
+                """);
+
+        assertThat(mvc.post()
+                        .uri("/api/releases")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .hasStatus(HttpStatus.CREATED);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldNotCreateReleaseForUnknownProduct() {
+        var result = mvc.post()
+                .uri("/api/releases")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                    {
+                        "productCode": "eclipse",
+                        "code": "2025.1",
+                        "description": "Eclipse 2025.1"
+                    }
+                    """)
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
     }
 
     @Test
@@ -77,6 +222,7 @@ class ReleaseControllerTests extends AbstractIT {
                 .content(payload)
                 .exchange();
         assertThat(result).hasStatusOk();
+        assertThat(statementCount(result)).isEqualTo(4);
 
         // Verify the update
         var updatedRelease =
@@ -90,6 +236,7 @@ class ReleaseControllerTests extends AbstractIT {
                     assertThat(dto.status()).isEqualTo(ReleaseStatus.RELEASED);
                     assertThat(dto.releasedAt()).isNotNull();
                 });
+        assertThat(statementCount(updatedRelease)).isEqualTo(1);
     }
 
     @Test
@@ -97,6 +244,7 @@ class ReleaseControllerTests extends AbstractIT {
     void shouldDeleteRelease() {
         var result = mvc.delete().uri("/api/releases/{code}", "RIDER-2024.2.6").exchange();
         assertThat(result).hasStatusOk();
+        assertThat(statementCount(result)).isEqualTo(6);
 
         // Verify deletion
         var getResult = mvc.get().uri("/api/releases/{code}", "RIDER-2024.2.6").exchange();
@@ -0,0 +1,135 @@
+package com.sivalabs.ft.features.api.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.AbstractIT;
+import com.sivalabs.ft.features.WithMockOAuth2User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.assertj.MvcTestResult;
+
+class GraphQlControllerTests extends AbstractIT {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final String PRODUCT_PAGE =
+            """
+            query {
+              product(code: "intellij") {
+                name
+                releases {
+                  code
+                  features {
+                    code
+                    title
+                    isFavorite
+                    comments { content createdBy }
+                  }
+                }
+                features { code }
+              }
+            }
+            """;
+
+    @Test
+    void shouldRenderProductPageWithBatchedQueries() {
+        var result = query(PRODUCT_PAGE);
+
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .doesNotHavePath("$.errors")
+                .hasPathSatisfying(
+                        "$.data.product.releases[?(@.code == 'IDEA-2023.3.8')].features[*].code",
+                        codes -> codes.assertThat().asArray().containsExactlyInAnyOrder("IDEA-1", "IDEA-2"))
+                .hasPathSatisfying(
+                        "$.data.product.releases[*].features[?(@.code == 'IDEA-1')].comments[*].content",
+                        contents -> contents.assertThat().asArray().hasSize(3))
+                .hasPathSatisfying(
+                        "$.data.product.releases[*].features[*].isFavorite",
+                        favorites -> favorites.assertThat().asArray().containsOnly(false));
+        // features by release, features by product and comments; products and releases come from the snapshot
+        assertThat(statementCount(result)).isEqualTo(3);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldLoadFavoritesOfAllVisibleFeaturesAtOnce() {
+        var result = query(PRODUCT_PAGE);
+
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .hasPathSatisfying(
+                        "$.data.product.releases[*].features[?(@.code == 'IDEA-2')].isFavorite",
+                        favorites -> favorites.assertThat().asArray().containsExactly(true))
+                .hasPathSatisfying(
+                        "$.data.product.releases[*].features[?(@.code == 'IDEA-1')].isFavorite",
+                        favorites -> favorites.assertThat().asArray().containsExactly(false));
+        assertThat(statementCount(result)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldReturnOnlyTheLatestFeaturesOfAProduct() {
+        jdbcTemplate.update(
+                """
+                insert into features (id, product_id, code, title, status, created_by, created_at)
+                select 1000 + g, 2, 'GO-' || (1000 + g), 'Feature ' || g, 'NEW', 'admin',
+                       timestamp '2025-01-01' + g * interval '1 minute'
+                from generate_series(1, 100) g
+                """);
+
+        var result = query(
+                """
+                query {
+                  product(code: "goland") { features { code } }
+                }
+                """);
+
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .doesNotHavePath("$.errors")
+                .hasPathSatisfying("$.data.product.features.length()", size -> size.assertThat()
+                        .isEqualTo(100))
+                .hasPathSatisfying("$.data.product.features[0].code", code -> code.assertThat()
+                        .isEqualTo("GO-1100"))
+                .hasPathSatisfying(
+                        "$.data.product.features[?(@.code == 'GO-3')]",
+                        oldest -> oldest.assertThat().asArray().isEmpty());
+        assertThat(statementCount(result)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectQueriesAboveTheComplexityLimit() {
+        var result = query(
+                """
+                query {
+                  products {
+                    releases { code features { code title description comments { content createdBy } } }
+                    features { code title comments { content createdBy } }
+                  }
+                }
+                """);
+
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .doesNotHavePath("$.data.products")
+                .extractingPath("$.errors[0].message")
+                .asString()
+                .contains("complexity");
+        assertThat(statementCount(result)).isZero();
+    }
+
+    private MvcTestResult query(String query) {
+        return mvc.post()
+                .uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"query\": \"%s\"}"
+                        .formatted(query.replace("\"", "\\\"").replace("\n", " ")))
+                .exchange();
+    }
+}
@@ -0,0 +1,199 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+
+import com.jayway.jsonpath.JsonPath;
+import com.sivalabs.ft.features.AbstractIT;
+import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.assertj.MvcTestResult;
+
+class AnonymousResponseCacheTests extends AbstractIT {
+
+    @Test
+    void shouldServeRepeatedAnonymousReadsWithoutQueries() throws Exception {
+        var first = getFeatures();
+        var second = getFeatures();
+
+        assertThat(first).hasStatusOk();
+        assertThat(statementCount(first)).isPositive();
+        assertThat(second).hasStatusOk().hasBodyTextEqualTo(first.getResponse().getContentAsString());
+        assertThat(statementCount(second)).isZero();
+        assertThat(second.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("public, max-age=10");
+        assertThat(second.getResponse().getHeader(HttpHeaders.ETAG))
+                .isEqualTo(first.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForMatchingEtag() {
+        String etag = getFeatures().getResponse().getHeader(HttpHeaders.ETAG);
+
+        var result = mvc.get()
+                .uri("/api/features?releaseCode={code}", "IDEA-2023.3.8")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange();
+
+        assertThat(result).hasStatus(HttpStatus.NOT_MODIFIED);
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void shouldServePreCompressedBodyWhenGzipIsAccepted() throws Exception {
+        String plain = mvc.get().uri("/api/products").exchange().getResponse().getContentAsString();
+
+        var result = mvc.get()
+                .uri("/api/products")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                .exchange();
+
+        assertThat(result).hasStatusOk().hasHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        try (var gzip = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertThat(new String(gzip.readAllBytes())).isEqualTo(plain);
+        }
+    }
+
+    @Test
+    void shouldKeepRepresentationsPerAcceptHeader() {
+        getFeatures();
+
+        var result = mvc.get()
+                .uri("/api/features?releaseCode={code}", "IDEA-2023.3.8")
+                .accept(MediaType.valueOf("application/cbor"))
+                .exchange();
+
+        assertThat(result).hasStatusOk().hasContentType("application/cbor");
+    }
+
+    @Test
+    void shouldDropCachedFeatureWhenItIsUpdated() {
+        getFeature("IDEA-1");
+
+        var update = mvc.put()
+                .uri("/api/features/{code}", "IDEA-1")
+                .with(jwt().jwt(token -> token.claim("preferred_username", "user")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                    {
+                        "title": "Updated Feature",
+                        "description": "Updated description",
+                        "assignedTo": "jane.doe",
+                        "status": "IN_PROGRESS"
+                    }
+                    """)
+                .exchange();
+        assertThat(update).hasStatusOk();
+
+        assertThat(getFeature("IDEA-1"))
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureDto.class)
+                .satisfies(dto -> assertThat(dto.title()).isEqualTo("Updated Feature"));
+    }
+
+    @Test
+    void shouldDropCachedFeatureWhenItIsCommentedOn() throws Exception {
+        int commentCount = commentCount(getFeature("IDEA-1"));
+
+        var comment = mvc.post()
+                .uri("/api/comments")
+                .with(jwt().jwt(token -> token.claim("preferred_username", "user")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                    {
+                        "featureCode": "IDEA-1",
+                        "content": "Looking forward to this"
+                    }
+                    """)
+                .exchange();
+        assertThat(comment).hasStatus(HttpStatus.CREATED);
+
+        assertThat(commentCount(getFeature("IDEA-1"))).isEqualTo(commentCount + 1);
+    }
+
+    @Test
+    void shouldDropCachedReleaseWhenItsFeaturesChange() throws Exception {
+        int inProgress = inProgressCount(getRelease("IDEA-2023.3.8"));
+
+        var update = mvc.put()
+                .uri("/api/features/{code}", "IDEA-1")
+                .with(jwt().jwt(token -> token.claim("preferred_username", "user")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                    {
+                        "title": "Redesign Structure Tool Window",
+                        "description": "Redesign Structure Tool Window to show logical structure",
+                        "releaseCode": "IDEA-2023.3.8",
+                        "assignedTo": "marcobehler",
+                        "status": "IN_PROGRESS"
+                    }
+                    """)
+                .exchange();
+        assertThat(update).hasStatusOk();
+
+        assertThat(inProgressCount(getRelease("IDEA-2023.3.8"))).isEqualTo(inProgress + 1);
+    }
+
+    @Test
+    void shouldKeepCachedResponsesOnOptionsAndHeadRequests() {
+        getFeatures();
+
+        var options = mvc.options()
+                .uri("/api/features?releaseCode={code}", "IDEA-2023.3.8")
+                .with(jwt().jwt(token -> token.claim("preferred_username", "user")))
+                .exchange();
+        var head = mvc.head()
+                .uri("/api/features?releaseCode={code}", "IDEA-2023.3.8")
+                .with(jwt().jwt(token -> token.claim("preferred_username", "user")))
+                .exchange();
+        assertThat(options).hasStatusOk();
+        assertThat(head).hasStatusOk();
+
+        assertThat(statementCount(getFeatures())).isZero();
+    }
+
+    @Test
+    void shouldNotCacheAuthenticatedReads() {
+        var result = mvc.get()
+                .uri("/api/features/{code}", "IDEA-1")
+                .with(jwt().jwt(token -> token.claim("preferred_username", "user")))
+                .exchange();
+
+        assertThat(result).hasStatusOk().doesNotContainHeader(HttpHeaders.ETAG);
+        assertThat(result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).doesNotContain("public");
+        assertThat(statementCount(getFeature("IDEA-1"))).isPositive();
+    }
+
+    private MvcTestResult getFeatures() {
+        return mvc.get()
+                .uri("/api/features?releaseCode={code}", "IDEA-2023.3.8")
+                .exchange();
+    }
+
+    private MvcTestResult getFeature(String code) {
+        return mvc.get().uri("/api/features/{code}", code).exchange();
+    }
+
+    private MvcTestResult getRelease(String code) {
+        return mvc.get().uri("/api/releases/{code}", code).exchange();
+    }
+
+    private static int inProgressCount(MvcTestResult result) throws Exception {
+        assertThat(result).hasStatusOk();
+        return JsonPath.read(result.getResponse().getContentAsString(), "$.stats.featureCounts.IN_PROGRESS");
+    }
+
+    private static int commentCount(MvcTestResult result) throws Exception {
+        assertThat(result).hasStatusOk();
+        return JsonPath.read(result.getResponse().getContentAsString(), "$.commentCount");
+    }
+}
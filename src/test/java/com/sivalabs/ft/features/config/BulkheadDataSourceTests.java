@@ -0,0 +1,100 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sivalabs.ft.features.ApplicationProperties.DbBulkheadProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+class BulkheadDataSourceTests {
+    private final DataSource target = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final BulkheadDataSource dataSource = new BulkheadDataSource(target, 2, Duration.ofMillis(50));
+
+    @Test
+    void shouldReleasePermitWhenConnectionIsClosed() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isZero();
+
+        first.close();
+        first.close();
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+
+        second.close();
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+        verify(connection, times(3)).close();
+    }
+
+    @Test
+    void shouldTimeOutWhenNoPermitIsAvailable() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("waiting for a connection permit");
+    }
+
+    @Test
+    void shouldReleasePermitWhenTargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDelegateOtherCallsToTargetConnection() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+
+        try (Connection guarded = dataSource.getConnection()) {
+            assertThat(guarded.getAutoCommit()).isTrue();
+            assertThat(guarded).isEqualTo(guarded).isNotEqualTo(connection);
+        }
+    }
+
+    @Test
+    void shouldPutOneBulkheadInFrontOfEveryReplicaPool() {
+        HikariDataSource primary = new HikariDataSource();
+        primary.setMaximumPoolSize(5);
+        HikariDataSource replica = new HikariDataSource();
+        replica.setMaximumPoolSize(7);
+        ReadReplicaRoutingDataSource routing =
+                new ReadReplicaRoutingDataSource(primary, List.of(replica), Duration.ZERO);
+        var postProcessor = new DataSourceBulkheadConfig.BulkheadPostProcessor(
+                () -> new DbBulkheadProperties(true, 0, Duration.ofSeconds(1)));
+
+        postProcessor.postProcessBeforeInitialization(routing, "readReplicaRoutingDataSource");
+        routing.afterPropertiesSet();
+        Object dataSource =
+                postProcessor.postProcessAfterInitialization(new LazyConnectionDataSourceProxy(routing), "dataSource");
+
+        assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+        assertThat(routing.getResolvedDataSources())
+                .hasEntrySatisfying(ReadReplicaRoutingDataSource.PRIMARY, target -> assertThat(target)
+                        .isInstanceOfSatisfying(
+                                BulkheadDataSource.class,
+                                bulkhead -> assertThat(bulkhead.maxConcurrent()).isEqualTo(5)))
+                .hasEntrySatisfying("replica-0", target -> assertThat(target)
+                        .isInstanceOfSatisfying(
+                                BulkheadDataSource.class,
+                                bulkhead -> assertThat(bulkhead.maxConcurrent()).isEqualTo(7)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTests {
+    private final AtomicInteger decodeCount = new AtomicInteger();
+
+    @Test
+    void shouldVerifyRepeatedTokenOnlyOnce() {
+        CachingJwtDecoder decoder =
+                new CachingJwtDecoder(countingDecoder(Instant.now().plusSeconds(300)), 100);
+
+        Jwt first = decoder.decode("token-a");
+        Jwt second = decoder.decode("token-a");
+        decoder.decode("token-b");
+
+        assertThat(second).isSameAs(first);
+        assertThat(decodeCount).hasValue(2);
+    }
+
+    @Test
+    void shouldNotCacheExpiredTokens() {
+        CachingJwtDecoder decoder =
+                new CachingJwtDecoder(countingDecoder(Instant.now().minusSeconds(1)), 100);
+
+        decoder.decode("token-a");
+        decoder.decode("token-a");
+
+        assertThat(decodeCount).hasValue(2);
+    }
+
+    @Test
+    void shouldNotCacheRejectedTokens() {
+        JwtDecoder rejecting = token -> {
+            decodeCount.incrementAndGet();
+            throw new BadJwtException("Invalid signature");
+        };
+        CachingJwtDecoder decoder = new CachingJwtDecoder(rejecting, 100);
+
+        assertThatThrownBy(() -> decoder.decode("token-a")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("token-a")).isInstanceOf(BadJwtException.class);
+        assertThat(decodeCount).hasValue(2);
+        assertThat(decoder.cache().estimatedSize()).isZero();
+    }
+
+    private JwtDecoder countingDecoder(Instant expiresAt) {
+        return token -> {
+            decodeCount.incrementAndGet();
+            return Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .claim("preferred_username", "user")
+                    .issuedAt(expiresAt.minusSeconds(600))
+                    .expiresAt(expiresAt)
+                    .build();
+        };
+    }
+}
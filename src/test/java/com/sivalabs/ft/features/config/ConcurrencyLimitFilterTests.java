@@ -0,0 +1,148 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sivalabs.ft.features.ApplicationProperties.ConcurrencyLimitProperties;
+import com.sivalabs.ft.features.ApplicationProperties.ConcurrencyLimitProperties.LimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ConcurrencyLimitFilterTests {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+            new ConcurrencyLimitProperties(
+                    true,
+                    new LimitProperties(1, 1, 10, Duration.ofSeconds(1)),
+                    new LimitProperties(1, 1, 10, Duration.ofSeconds(1)),
+                    0.5,
+                    Duration.ofSeconds(2)),
+            meterRegistry,
+            new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    void shouldRejectReadsOverTheLimitWithRetryAfter() throws Exception {
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+        FilterChain chain = (request, response) -> filter.doFilter(get(), nested, new MockFilterChain());
+
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(get(), outer, chain);
+
+        assertThat(outer.getStatus()).isEqualTo(200);
+        assertThat(nested.getStatus()).isEqualTo(503);
+        assertThat(nested.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(nested.getContentType()).isEqualTo("application/problem+json");
+        assertThat(meterRegistry
+                        .get("http.concurrency.rejected")
+                        .tag("type", "read")
+                        .functionCounter()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldLetWritesUseFreeReadSlots() throws Exception {
+        MockHttpServletResponse secondWrite = new MockHttpServletResponse();
+        MockHttpServletResponse thirdWrite = new MockHttpServletResponse();
+        FilterChain chain = (request, response) -> filter.doFilter(
+                post(), secondWrite, (req, res) -> filter.doFilter(post(), thirdWrite, new MockFilterChain()));
+
+        filter.doFilter(post(), new MockHttpServletResponse(), chain);
+
+        assertThat(secondWrite.getStatus()).isEqualTo(200);
+        assertThat(thirdWrite.getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void shouldSampleBorrowedWriteSlotsAgainstTheWriteLimit() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                new ConcurrencyLimitProperties(
+                        true,
+                        // every read is slower than the read target
+                        new LimitProperties(4, 1, 10, Duration.ZERO),
+                        new LimitProperties(1, 1, 10, Duration.ofSeconds(10)),
+                        0.5,
+                        Duration.ofSeconds(2)),
+                registry,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        MockHttpServletResponse borrowingWrite = new MockHttpServletResponse();
+        FilterChain chain = (request, response) -> filter.doFilter(post(), borrowingWrite, new MockFilterChain());
+
+        filter.doFilter(post(), new MockHttpServletResponse(), chain);
+
+        assertThat(borrowingWrite.getStatus()).isEqualTo(200);
+        assertThat(limit(registry, "read")).isEqualTo(4);
+        assertThat(limit(registry, "write")).isGreaterThan(1);
+    }
+
+    @Test
+    void shouldLimitGraphQlQueriesAsReads() throws Exception {
+        MockHttpServletResponse query = new MockHttpServletResponse();
+        FilterChain chain = (request, response) ->
+                filter.doFilter(new MockHttpServletRequest("POST", "/graphql"), query, new MockFilterChain());
+
+        filter.doFilter(get(), new MockHttpServletResponse(), chain);
+
+        assertThat(query.getStatus()).isEqualTo(503);
+        assertThat(meterRegistry
+                        .get("http.concurrency.rejected")
+                        .tag("type", "read")
+                        .functionCounter()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotLimitRequestsOutsideTheApi() throws Exception {
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+        FilterChain chain = (request, response) ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), nested, new MockFilterChain());
+
+        filter.doFilter(get(), new MockHttpServletResponse(), chain);
+
+        assertThat(nested.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldAdaptLimitToLatency() {
+        AimdConcurrencyLimit limit =
+                new AimdConcurrencyLimit(new LimitProperties(4, 2, 6, Duration.ofMillis(100)), 0.5);
+
+        acquireAndRelease(limit, 4, Duration.ofMillis(10));
+        assertThat(limit.limit()).isEqualTo(6);
+
+        acquireAndRelease(limit, 1, Duration.ofMillis(500));
+        assertThat(limit.limit()).isEqualTo(3);
+
+        acquireAndRelease(limit, 1, Duration.ofMillis(500));
+        assertThat(limit.limit()).isEqualTo(2);
+    }
+
+    private static void acquireAndRelease(AimdConcurrencyLimit limit, int requests, Duration latency) {
+        for (int i = 0; i < requests; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        for (int i = 0; i < requests; i++) {
+            limit.release(latency.toNanos(), false);
+        }
+    }
+
+    private static double limit(SimpleMeterRegistry registry, String type) {
+        return registry.get("http.concurrency.limit").tag("type", type).gauge().value();
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/features");
+    }
+
+    private static MockHttpServletRequest post() {
+        return new MockHttpServletRequest("POST", "/api/comments");
+    }
+}
@@ -0,0 +1,57 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.ApplicationProperties.SlowQueryProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+class QueryMetricsListenerTests {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryMetricsListener listener =
+            new QueryMetricsListener(meterRegistry, new SlowQueryProperties(Duration.ofMillis(100), 1.0, false));
+
+    @Test
+    void shouldTagTimerWithRepositoryMethod() {
+        ProxyFactory proxyFactory = new ProxyFactory(new SampleRepository() {
+            @Override
+            public void findByCode(String code) {
+                execute(5);
+            }
+        });
+        proxyFactory.addInterface(SampleRepository.class);
+        proxyFactory.addAdvice(new RepositoryMethodTracker(SampleRepository.class));
+        SampleRepository repository = (SampleRepository) proxyFactory.getProxy();
+
+        repository.findByCode("IDEA-1");
+        execute(7);
+
+        Timer timer = meterRegistry
+                .get("jdbc.query")
+                .tag("query", "SampleRepository.findByCode")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(meterRegistry
+                        .get("jdbc.query")
+                        .tag("query", RepositoryMethodTracker.UNKNOWN)
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    private void execute(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        listener.afterQuery(executionInfo, List.of(new QueryInfo("select 1")));
+    }
+
+    interface SampleRepository {
+        void findByCode(String code);
+    }
+}
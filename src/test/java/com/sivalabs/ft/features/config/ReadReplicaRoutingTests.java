@@ -0,0 +1,98 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.domain.Commands.CreateCommentCommand;
+import com.sivalabs.ft.features.domain.CommentService;
+import com.sivalabs.ft.features.domain.ReadYourWritesWindow;
+import com.sivalabs.ft.features.domain.dtos.CommentDto;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Uses two independent Postgres containers as primary and replica. The replica is migrated separately and
+ * holds a comment the primary doesn't have, so the data returned tells which database served each read.
+ */
+@SpringBootTest(properties = "ft.replicas.read-your-writes-window=1m")
+class ReadReplicaRoutingTests {
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+
+    static {
+        primary.start();
+        replica.start();
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .load()
+                .migrate();
+        try (Connection connection = DriverManager.getConnection(
+                        replica.getJdbcUrl(), replica.getUsername(), replica.getPassword());
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate(
+                    """
+                    insert into comments (id, feature_id, created_by, content)
+                    select 5000, id, 'replica', 'replica-only' from features where code = 'IDEA-358562'
+                    """);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void configureDataSources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("ft.replicas.urls", replica::getJdbcUrl);
+        registry.add("ft.replicas.username", replica::getUsername);
+        registry.add("ft.replicas.password", replica::getPassword);
+    }
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ReadYourWritesWindow readYourWritesWindow;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRouteReadsToReplicaAndWritesToPrimary() {
+        assertThat(commentContents()).contains("replica-only");
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("writer", null, "USER"));
+        commentService.createComment(new CreateCommentCommand("IDEA-358562", "primary-write", "writer"));
+
+        // read-your-writes: the writer's reads stay on the primary and are not coalesced with replica reads
+        assertThat(commentContents()).contains("primary-write").doesNotContain("replica-only");
+        assertThat(readYourWritesWindow.isOpen()).isTrue();
+
+        // other callers keep reading from the replica
+        SecurityContextHolder.clearContext();
+        assertThat(commentContents()).contains("replica-only").doesNotContain("primary-write");
+        assertThat(readYourWritesWindow.isOpen()).isFalse();
+    }
+
+    private List<String> commentContents() {
+        return commentService.findCommentsByFeatureCode("IDEA-358562", 0, 100).stream()
+                .map(CommentDto::content)
+                .toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.sivalabs.ft.features.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.AbstractIT;
+import com.sivalabs.ft.features.domain.Commands.DeleteFeaturesCommand;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class FeatureServiceTests extends AbstractIT {
+    @Autowired
+    private FeatureService featureService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldDeleteSeveralFeaturesWithTheirCommentsAndFavorites() {
+        int deleted =
+                featureService.deleteFeatures(new DeleteFeaturesCommand(Set.of("IDEA-1", "IDEA-2", "GO-3"), "admin"));
+
+        assertThat(deleted).isEqualTo(3);
+        assertThat(count("select count(*) from features")).isZero();
+        assertThat(count("select count(*) from comments")).isZero();
+        assertThat(count("select count(*) from favorite_features")).isZero();
+        assertThat(jdbcTemplate.queryForList("select code from feature_tombstones", String.class))
+                .containsExactlyInAnyOrder("IDEA-1", "IDEA-2", "GO-3");
+    }
+
+    @Test
+    void shouldUpdateReleaseStatsOfDeletedFeatures() {
+        featureService.deleteFeatures(new DeleteFeaturesCommand(Set.of("IDEA-1", "IDEA-2"), "admin"));
+
+        assertThat(count("select feature_count from release_feature_stats where release_id = 1 and status = 'NEW'"))
+                .isZero();
+    }
+
+    @Test
+    void shouldOnlyDeleteTheGivenFeaturesAndSkipUnknownCodes() {
+        int deleted =
+                featureService.deleteFeatures(new DeleteFeaturesCommand(Set.of("IDEA-2", "INVALID_CODE"), "admin"));
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("select code from features", String.class))
+                .containsExactlyInAnyOrder("IDEA-1", "GO-3");
+        assertThat(count("select count(*) from comments where feature_id = 1")).isEqualTo(3);
+        assertThat(count("select count(*) from favorite_features")).isZero();
+        assertThat(jdbcTemplate.queryForList("select code from feature_tombstones", String.class))
+                .containsExactly("IDEA-2");
+        assertThat(count("select feature_count from release_feature_stats where release_id = 1 and status = 'NEW'"))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldDeleteNothingWithoutCodes() {
+        assertThat(featureService.deleteFeatures(new DeleteFeaturesCommand(Set.of(), "admin")))
+                .isZero();
+        assertThat(count("select count(*) from features")).isEqualTo(3);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -9,6 +9,7 @@ import com.sivalabs.ft.features.domain.Commands.UpdateProductCommand;
 import com.sivalabs.ft.features.domain.dtos.ProductDto;
 import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
 import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -26,6 +27,23 @@ class ProductServiceTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @BeforeEach
+    void reloadReferenceData() {
+        referenceDataCache.reload();
+    }
+
+    @Test
+    void testFindProductByCodeReflectsUpdates() {
+        var updateCommand = new UpdateProductCommand(
+                "intellij", "IDEA", "IntelliJ IDEA Ultimate", "Description", "image-url", "updater");
+        productService.updateProduct(updateCommand);
+        assertThat(productService.findProductByCode("intellij"))
+                .hasValueSatisfying(product -> assertThat(product.name()).isEqualTo("IntelliJ IDEA Ultimate"));
+    }
+
     @Test
     void testFindProductByCode() {
         Optional<ProductDto> result = productService.findProductByCode("intellij");
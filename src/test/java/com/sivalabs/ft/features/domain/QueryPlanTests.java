@@ -0,0 +1,299 @@
+package com.sivalabs.ft.features.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.TestcontainersConfiguration;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+/**
+ * Guards the secondary indexes: every hot repository method is called against a realistic data volume, and each
+ * statement Hibernate issues for it is explained with its bound parameters and must not fall back to a sequential
+ * scan on the tables it filters.
+ */
+@DataJpaTest
+@Import({TestcontainersConfiguration.class, QueryPlanTests.StatementCaptureConfig.class})
+@Sql(scripts = {"/query-plan-data.sql"})
+class QueryPlanTests {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CapturedStatements capturedStatements;
+
+    @Autowired
+    private FeatureRepository featureRepository;
+
+    @Autowired
+    private ReleaseRepository releaseRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private FavoriteFeatureRepository favoriteFeatureRepository;
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of(
+                        "FeatureRepository.findByCode",
+                        (RepositoryCall) tests -> tests.featureRepository.findByCode("PF-4242"),
+                        Set.of("features")),
+                Arguments.of(
+                        "FeatureRepository.findByReleaseCode",
+                        (RepositoryCall) tests -> tests.featureRepository.findByReleaseCode("PP7-3"),
+                        Set.of("features", "releases")),
+                Arguments.of(
+                        "FeatureRepository.findByProductCode",
+                        (RepositoryCall) tests -> tests.featureRepository.findByProductCode("plan-product-7"),
+                        Set.of("features")),
+                Arguments.of(
+                        "FeatureRepository.findLatestByProductCodes",
+                        (RepositoryCall) tests ->
+                                tests.featureRepository.findLatestByProductCodes(Set.of("plan-product-7"), 100),
+                        Set.of("features")),
+                Arguments.of(
+                        "FeatureRepository.findChangedSince",
+                        (RepositoryCall)
+                                tests -> tests.featureRepository.findChangedSince(1007L, 42, List.of(100007L, 101007L)),
+                        Set.of("features")),
+                Arguments.of(
+                        "FeatureRepository.findAll(product, status, createdAt range)",
+                        (RepositoryCall) tests -> tests.findFeatures(
+                                new FeatureFilter(
+                                        "plan-product-7",
+                                        null,
+                                        Set.of(FeatureStatus.NEW, FeatureStatus.IN_PROGRESS),
+                                        null,
+                                        null,
+                                        Instant.parse("2024-01-01T00:00:00Z"),
+                                        Instant.parse("2024-07-01T00:00:00Z"),
+                                        false),
+                                1007L,
+                                null,
+                                Sort.by("createdAt")),
+                        Set.of("features")),
+                Arguments.of(
+                        "FeatureRepository.findAll(product, assignedTo)",
+                        (RepositoryCall) tests -> tests.findFeatures(
+                                new FeatureFilter("plan-product-7", null, null, "user-7", null, null, null, false),
+                                1007L,
+                                null,
+                                Sort.by(Sort.Direction.DESC, "createdAt")),
+                        Set.of("features")),
+                Arguments.of(
+                        "FeatureRepository.findAll(product, createdBy)",
+                        (RepositoryCall) tests -> tests.findFeatures(
+                                new FeatureFilter("plan-product-7", null, null, null, "admin", null, null, false),
+                                1007L,
+                                null,
+                                Sort.by("createdAt")),
+                        Set.of("features")),
+                Arguments.of(
+                        "FeatureRepository.findAll(product, unreleased)",
+                        (RepositoryCall) tests -> tests.findFeatures(
+                                new FeatureFilter("plan-product-7", null, null, null, null, null, null, true),
+                                1007L,
+                                null,
+                                Sort.by("createdAt")),
+                        Set.of("features")),
+                Arguments.of(
+                        "FeatureRepository.findAll(release, status)",
+                        (RepositoryCall) tests -> tests.findFeatures(
+                                new FeatureFilter(
+                                        null, "PP8-7", Set.of(FeatureStatus.NEW), null, null, null, null, false),
+                                null,
+                                10147L,
+                                Sort.by("createdAt")),
+                        Set.of("features")),
+                Arguments.of(
+                        "FeatureRepository.unsetRelease",
+                        (RepositoryCall) tests -> tests.featureRepository.unsetRelease("PP7-3"),
+                        Set.of("features", "releases")),
+                Arguments.of(
+                        "ReleaseRepository.findByProductCode",
+                        (RepositoryCall) tests -> tests.releaseRepository.findByProductCode("plan-product-7"),
+                        Set.of("releases")),
+                Arguments.of(
+                        "ReleaseRepository.findFeatureStatsByProductId",
+                        (RepositoryCall) tests -> tests.releaseRepository.findFeatureStatsByProductId(1007L),
+                        Set.of("release_feature_stats", "releases")),
+                Arguments.of(
+                        "CommentRepository.findCommentsByFeatureCode",
+                        (RepositoryCall) tests ->
+                                tests.commentRepository.findCommentsByFeatureCode("PF-4242", PageRequest.of(0, 10)),
+                        Set.of("comments", "features")),
+                Arguments.of(
+                        "CommentRepository.deleteByFeatureCode",
+                        (RepositoryCall) tests -> tests.commentRepository.deleteByFeatureCode("PF-4242"),
+                        Set.of("comments", "features")),
+                Arguments.of(
+                        "FavoriteFeatureRepository.findByUserIdAndFeatureCodes",
+                        (RepositoryCall) tests -> tests.favoriteFeatureRepository.findByUserIdAndFeatureCodes(
+                                "user-7", Set.of("PF-7", "PF-1007", "PF-2007")),
+                        Set.of("features", "favorite_features")),
+                Arguments.of(
+                        "FavoriteFeatureRepository.findFeatureIdsChangedSince",
+                        (RepositoryCall)
+                                tests -> tests.favoriteFeatureRepository.findFeatureIdsChangedSince("user-7", 42),
+                        Set.of("favorite_feature_changes")),
+                Arguments.of(
+                        "FavoriteFeatureRepository.deleteByFeatureCode",
+                        (RepositoryCall) tests -> tests.favoriteFeatureRepository.deleteByFeatureCode("PF-4242"),
+                        Set.of("favorite_features", "features")));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void shouldNotUseSequentialScan(String queryName, RepositoryCall call, Set<String> indexedTables) throws Exception {
+        // cached results would hide the statements
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        capturedStatements.clear();
+        call.run(this);
+        List<QueryInfo> statements = capturedStatements.drain();
+        assertThat(statements).as("%s issued no SQL", queryName).isNotEmpty();
+
+        for (QueryInfo statement : statements) {
+            String plan = explain(statement);
+            List<String> seqScannedTables = new ArrayList<>();
+            collectSeqScans(objectMapper.readTree(plan), seqScannedTables);
+
+            assertThat(seqScannedTables)
+                    .as(
+                            "%s must not sequentially scan %s. SQL: %s Plan: %s",
+                            queryName, indexedTables, statement.getQuery(), plan)
+                    .doesNotContainAnyElementsOf(indexedTables);
+        }
+    }
+
+    private void findFeatures(FeatureFilter filter, Long productId, Long releaseId, Sort sort) {
+        featureRepository.findAll(
+                FeatureSpecifications.matching(filter, productId, releaseId), sort.and(Sort.by("id")));
+    }
+
+    /**
+     * Explains the statement with the parameters it was executed with, so that the planner sees the same values.
+     */
+    private String explain(QueryInfo statement) {
+        return jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement explain =
+                            connection.prepareStatement("explain (format json) " + statement.getQuery());
+                    for (List<ParameterSetOperation> parameters : statement.getParametersList()) {
+                        for (ParameterSetOperation parameter : parameters) {
+                            try {
+                                parameter.getMethod().invoke(explain, parameter.getArgs());
+                            } catch (ReflectiveOperationException e) {
+                                throw new IllegalStateException("Cannot bind " + parameter.getMethod(), e);
+                            }
+                        }
+                    }
+                    return explain;
+                },
+                resultSet -> resultSet.next() ? resultSet.getString(1) : null);
+    }
+
+    private void collectSeqScans(JsonNode node, List<String> tables) {
+        if (node.isArray()) {
+            node.forEach(child -> collectSeqScans(child, tables));
+            return;
+        }
+        if (!node.isObject()) {
+            return;
+        }
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            tables.add(node.path("Relation Name").asText());
+        }
+        node.forEach(child -> collectSeqScans(child, tables));
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void run(QueryPlanTests tests);
+    }
+
+    /**
+     * Records the statements executed through the data source, with their parameters.
+     */
+    static class CapturedStatements implements QueryExecutionListener {
+        private final List<QueryInfo> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {}
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            statements.addAll(queryInfoList);
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        List<QueryInfo> drain() {
+            List<QueryInfo> drained = List.copyOf(statements);
+            statements.clear();
+            return drained;
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class StatementCaptureConfig {
+        @Bean
+        CapturedStatements capturedStatements() {
+            return new CapturedStatements();
+        }
+
+        @Bean
+        static BeanPostProcessor statementCaptureDataSourcePostProcessor(
+                ObjectProvider<CapturedStatements> capturedStatements) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(capturedStatements.getObject())
+                            .build();
+                }
+            };
+        }
+    }
+}
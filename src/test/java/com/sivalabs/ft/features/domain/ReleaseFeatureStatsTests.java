@@ -0,0 +1,54 @@
+package com.sivalabs.ft.features.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.AbstractIT;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ReleaseFeatureStatsTests extends AbstractIT {
+    private static final String ACTUAL_COUNTS =
+            """
+            select release_id, status, count(*) as feature_count from features
+            where release_id is not null group by release_id, status order by release_id, status
+            """;
+    private static final String STORED_COUNTS =
+            """
+            select release_id, status, feature_count from release_feature_stats
+            where feature_count <> 0 order by release_id, status
+            """;
+
+    @Autowired
+    private ReleaseFeatureStats releaseFeatureStats;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldCorrectDriftedCounters() {
+        jdbcTemplate.update("update features set status = 'RELEASED' where code = 'IDEA-1'");
+        jdbcTemplate.update("update features set release_id = 3 where code = 'GO-3'");
+        jdbcTemplate.update("update release_feature_stats set feature_count = 7 where release_id = 1");
+        assertThat(counts(STORED_COUNTS)).isNotEqualTo(counts(ACTUAL_COUNTS));
+
+        releaseFeatureStats.reconcile();
+
+        assertThat(counts(STORED_COUNTS)).isEqualTo(counts(ACTUAL_COUNTS));
+    }
+
+    @Test
+    void shouldLeaveAccurateCountersAlone() {
+        List<Map<String, Object>> before = counts(STORED_COUNTS);
+
+        releaseFeatureStats.reconcile();
+
+        assertThat(counts(STORED_COUNTS)).isEqualTo(before);
+    }
+
+    private List<Map<String, Object>> counts(String sql) {
+        return jdbcTemplate.queryForList(sql);
+    }
+}
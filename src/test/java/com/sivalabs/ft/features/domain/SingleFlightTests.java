@@ -0,0 +1,103 @@
+package com.sivalabs.ft.features.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTests {
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void shouldShareOneExecutionBetweenConcurrentCallers() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 20;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("IDEA-1", 0, () -> {
+                started.countDown();
+                await(release);
+                return "result-" + executions.incrementAndGet();
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                followers.add(executor.submit(
+                        () -> singleFlight.execute("IDEA-1", 0, () -> "result-" + executions.incrementAndGet())));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(leader.get()).isEqualTo("result-1");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get()).isEqualTo("result-1");
+            }
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldExecuteAgainOnceThePreviousCallCompleted() {
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("IDEA-1", 0, () -> "result-" + executions.incrementAndGet());
+        String second = singleFlight.execute("IDEA-1", 0, () -> "result-" + executions.incrementAndGet());
+
+        assertThat(second).isEqualTo("result-2");
+    }
+
+    @Test
+    void shouldPropagateLoaderFailureAndForgetTheCall() {
+        assertThatThrownBy(() -> singleFlight.execute("IDEA-1", 0, () -> {
+                    throw new IllegalStateException("boom");
+                }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+
+        assertThat(singleFlight.inFlightCount()).isZero();
+        assertThat(singleFlight.execute("IDEA-1", 0, () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void shouldNotJoinAnExecutionStartedUnderAnOlderGeneration() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> beforeWrite = executor.submit(() -> singleFlight.execute("IDEA-1", 1, () -> {
+                started.countDown();
+                await(release);
+                return "before-write";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            String afterWrite = executor.submit(() -> singleFlight.execute("IDEA-1", 2, () -> "after-write"))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertThat(afterWrite).isEqualTo("after-write");
+            release.countDown();
+            assertThat(beforeWrite.get()).isEqualTo("before-write");
+        }
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
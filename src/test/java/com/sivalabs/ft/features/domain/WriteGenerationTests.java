@@ -0,0 +1,47 @@
+package com.sivalabs.ft.features.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.AbstractIT;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class WriteGenerationTests extends AbstractIT {
+    @Autowired
+    private WriteGeneration writeGeneration;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldAdvanceWhenAWriteCommits() {
+        long before = writeGeneration.current();
+
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(
+                        status -> jdbcTemplate.update("update features set title = 'Renamed' where code = 'IDEA-1'"));
+
+        assertThat(writeGeneration.current()).isGreaterThan(before);
+    }
+
+    @Test
+    void shouldNotAdvanceForReadOnlyOrRolledBackTransactions() {
+        long before = writeGeneration.current();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> jdbcTemplate.queryForList("select code from features"));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("update features set title = 'Renamed' where code = 'IDEA-1'");
+            status.setRollbackOnly();
+        });
+
+        assertThat(writeGeneration.current()).isEqualTo(before);
+    }
+}
@@ -0,0 +1,134 @@
+package com.sivalabs.ft.features.domain.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.ApplicationProperties.CommentStreamProperties;
+import com.sivalabs.ft.features.domain.dtos.CommentDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CommentStreamHubTests {
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CommentStreamHub hub = new CommentStreamHub(
+            pendingTasks::add,
+            new CommentStreamProperties(2, Duration.ofMinutes(1), Duration.ofMinutes(1), 4, Duration.ofSeconds(10)),
+            meterRegistry);
+
+    @Test
+    void shouldDeliverEventsOnlyToSubscribersOfTheFeature() {
+        List<CommentStreamEvent> idea = new ArrayList<>();
+        List<CommentStreamEvent> go = new ArrayList<>();
+        hub.subscribe("IDEA-1", sink(idea));
+        hub.subscribe("GO-3", sink(go));
+
+        hub.publish("IDEA-1", created(1L, "IDEA-1"));
+        runPendingTasks();
+
+        assertThat(idea).extracting(e -> e.comment().id()).containsExactly(1L);
+        assertThat(go).isEmpty();
+    }
+
+    @Test
+    void shouldDropOldestEventsWhenSubscriberBufferIsFull() {
+        List<CommentStreamEvent> received = new ArrayList<>();
+        hub.subscribe("IDEA-1", sink(received));
+
+        hub.publish("IDEA-1", created(1L, "IDEA-1"));
+        hub.publish("IDEA-1", created(2L, "IDEA-1"));
+        hub.publish("IDEA-1", created(3L, "IDEA-1"));
+        runPendingTasks();
+
+        assertThat(received).extracting(e -> e.comment().id()).containsExactly(2L, 3L);
+        assertThat(meterRegistry.counter("comments.stream.events.dropped").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldCloseSubscriptionWhenSinkFails() {
+        var subscription = hub.subscribe("IDEA-1", new StreamSink<>() {
+            @Override
+            public void send(CommentStreamEvent event) throws IOException {
+                throw new IOException("client disconnected");
+            }
+
+            @Override
+            public void heartbeat() {}
+
+            @Override
+            public void abort() {}
+        });
+        assertThat(meterRegistry.get("comments.stream.connections").gauge().value())
+                .isEqualTo(1.0);
+
+        hub.publish("IDEA-1", created(1L, "IDEA-1"));
+        runPendingTasks();
+
+        assertThat(meterRegistry.get("comments.stream.connections").gauge().value())
+                .isEqualTo(0.0);
+        subscription.close();
+        assertThat(meterRegistry.get("comments.stream.connections").gauge().value())
+                .isEqualTo(0.0);
+    }
+
+    @Test
+    void shouldCloseIdleSubscriptionWhenHeartbeatCannotBeWritten() {
+        SimpleMeterRegistry idleMeterRegistry = new SimpleMeterRegistry();
+        CommentStreamHub idleHub = new CommentStreamHub(
+                pendingTasks::add,
+                new CommentStreamProperties(2, Duration.ofMinutes(1), Duration.ZERO, 1, Duration.ofSeconds(10)),
+                idleMeterRegistry);
+        idleHub.subscribe("IDEA-1", new StreamSink<>() {
+            @Override
+            public void send(CommentStreamEvent event) {}
+
+            @Override
+            public void heartbeat() throws IOException {
+                throw new IOException("client disconnected");
+            }
+
+            @Override
+            public void abort() {}
+        });
+        assertThat(idleMeterRegistry.get("comments.stream.connections").gauge().value())
+                .isEqualTo(1.0);
+
+        idleHub.sweep();
+        runPendingTasks();
+
+        assertThat(idleMeterRegistry.get("comments.stream.connections").gauge().value())
+                .isEqualTo(0.0);
+        assertThat(idleMeterRegistry.counter("comments.stream.heartbeats").count())
+                .isZero();
+    }
+
+    private void runPendingTasks() {
+        while (!pendingTasks.isEmpty()) {
+            pendingTasks.removeFirst().run();
+        }
+    }
+
+    private static StreamSink<CommentStreamEvent> sink(List<CommentStreamEvent> received) {
+        return new StreamSink<>() {
+            @Override
+            public void send(CommentStreamEvent event) {
+                received.add(event);
+            }
+
+            @Override
+            public void heartbeat() {}
+
+            @Override
+            public void abort() {}
+        };
+    }
+
+    private static CommentStreamEvent created(Long id, String featureCode) {
+        return new CommentStreamEvent(
+                CommentStreamEvent.Type.CREATED, new CommentDto(id, featureCode, "comment " + id, "user"));
+    }
+}
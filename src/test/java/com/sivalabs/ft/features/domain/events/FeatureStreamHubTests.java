@@ -0,0 +1,206 @@
+package com.sivalabs.ft.features.domain.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.ApplicationProperties.FeatureStreamProperties;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class FeatureStreamHubTests {
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldDeliverEventsToSubscribersOfTheProductAndRelease() {
+        FeatureStreamHub hub = hub(Duration.ofMinutes(1));
+        List<FeatureStreamEvent> product = new ArrayList<>();
+        List<FeatureStreamEvent> release = new ArrayList<>();
+        List<FeatureStreamEvent> otherRelease = new ArrayList<>();
+        hub.subscribeToProduct(1L, sink(product));
+        hub.subscribeToRelease(10L, sink(release));
+        hub.subscribeToRelease(20L, sink(otherRelease));
+
+        hub.publish(event("IDEA-1"), 1L, 10L, null);
+        runPendingTasks();
+
+        assertThat(product).extracting(FeatureStreamEvent::code).containsExactly("IDEA-1");
+        assertThat(release).extracting(FeatureStreamEvent::code).containsExactly("IDEA-1");
+        assertThat(otherRelease).isEmpty();
+    }
+
+    @Test
+    void shouldNotifyTheReleaseAFeatureMovedAwayFrom() {
+        FeatureStreamHub hub = hub(Duration.ofMinutes(1));
+        List<FeatureStreamEvent> previous = new ArrayList<>();
+        List<FeatureStreamEvent> current = new ArrayList<>();
+        hub.subscribeToRelease(10L, sink(previous));
+        hub.subscribeToRelease(20L, sink(current));
+
+        hub.publish(event("IDEA-1"), 1L, 20L, 10L);
+        hub.publish(event("IDEA-2"), 1L, 20L, 20L);
+        runPendingTasks();
+
+        assertThat(previous).extracting(FeatureStreamEvent::code).containsExactly("IDEA-1");
+        assertThat(current).extracting(FeatureStreamEvent::code).containsExactly("IDEA-1", "IDEA-2");
+    }
+
+    @Test
+    void shouldDropOldestEventsWhenSubscriberBufferIsFull() {
+        FeatureStreamHub hub = hub(Duration.ofMinutes(1));
+        List<FeatureStreamEvent> received = new ArrayList<>();
+        hub.subscribeToProduct(1L, sink(received));
+
+        hub.publish(event("IDEA-1"), 1L);
+        hub.publish(event("IDEA-2"), 1L);
+        hub.publish(event("IDEA-3"), 1L);
+        runPendingTasks();
+
+        assertThat(received).extracting(FeatureStreamEvent::code).containsExactly("IDEA-2", "IDEA-3");
+        assertThat(meterRegistry.counter("features.stream.events.dropped").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldSendHeartbeatsOnlyToIdleSubscribers() {
+        FeatureStreamHub hub = hub(Duration.ofMinutes(1));
+        List<String> heartbeats = new ArrayList<>();
+        hub.subscribeToProduct(1L, heartbeatSink(heartbeats, "recent"));
+        hub.sweep();
+        runPendingTasks();
+        assertThat(heartbeats).isEmpty();
+
+        FeatureStreamHub idleHub = hub(Duration.ZERO);
+        idleHub.subscribeToProduct(1L, heartbeatSink(heartbeats, "idle"));
+        idleHub.sweep();
+        runPendingTasks();
+        assertThat(heartbeats).containsExactly("idle");
+    }
+
+    @Test
+    void shouldCloseSubscriptionWhenHeartbeatCannotBeWritten() {
+        FeatureStreamHub hub = hub(Duration.ZERO);
+        hub.subscribeToProduct(1L, new StreamSink<FeatureStreamEvent>() {
+            @Override
+            public void send(FeatureStreamEvent event) {}
+
+            @Override
+            public void heartbeat() throws IOException {
+                throw new IOException("client disconnected");
+            }
+
+            @Override
+            public void abort() {}
+        });
+        assertThat(meterRegistry.get("features.stream.connections").gauge().value())
+                .isEqualTo(1.0);
+
+        hub.sweep();
+        runPendingTasks();
+
+        assertThat(meterRegistry.get("features.stream.connections").gauge().value())
+                .isEqualTo(0.0);
+    }
+
+    @Test
+    void shouldAbortSubscriberWhoseWriteIsBlocked() throws Exception {
+        FeatureStreamHub hub = hub(Duration.ofMinutes(1), Duration.ZERO);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        AtomicBoolean aborted = new AtomicBoolean();
+        hub.subscribeToProduct(1L, new StreamSink<>() {
+            @Override
+            public void send(FeatureStreamEvent event) throws IOException {
+                writing.countDown();
+                try {
+                    unblock.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+
+            @Override
+            public void heartbeat() {}
+
+            @Override
+            public void abort() {
+                aborted.set(true);
+            }
+        });
+        hub.publish(event("IDEA-1"), 1L);
+        Thread writer = Thread.ofVirtual().start(pendingTasks.removeFirst());
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        hub.sweep();
+        runPendingTasks();
+
+        assertThat(aborted).isTrue();
+        assertThat(meterRegistry.get("features.stream.connections").gauge().value())
+                .isEqualTo(0.0);
+        assertThat(meterRegistry.counter("features.stream.write.timeouts").count())
+                .isEqualTo(1.0);
+        unblock.countDown();
+        writer.join();
+    }
+
+    private FeatureStreamHub hub(Duration heartbeatInterval) {
+        return hub(heartbeatInterval, Duration.ofSeconds(10));
+    }
+
+    private FeatureStreamHub hub(Duration heartbeatInterval, Duration writeTimeout) {
+        meterRegistry.clear();
+        return new FeatureStreamHub(
+                pendingTasks::add,
+                new FeatureStreamProperties(2, Duration.ofHours(1), heartbeatInterval, 1, writeTimeout),
+                meterRegistry);
+    }
+
+    private void runPendingTasks() {
+        while (!pendingTasks.isEmpty()) {
+            pendingTasks.removeFirst().run();
+        }
+    }
+
+    private static StreamSink<FeatureStreamEvent> sink(List<FeatureStreamEvent> received) {
+        return new StreamSink<FeatureStreamEvent>() {
+            @Override
+            public void send(FeatureStreamEvent event) {
+                received.add(event);
+            }
+
+            @Override
+            public void heartbeat() {}
+
+            @Override
+            public void abort() {}
+        };
+    }
+
+    private static StreamSink<FeatureStreamEvent> heartbeatSink(List<String> heartbeats, String name) {
+        return new StreamSink<FeatureStreamEvent>() {
+            @Override
+            public void send(FeatureStreamEvent event) {}
+
+            @Override
+            public void heartbeat() {
+                heartbeats.add(name);
+            }
+
+            @Override
+            public void abort() {}
+        };
+    }
+
+    private static FeatureStreamEvent event(String code) {
+        return new FeatureStreamEvent(
+                FeatureStreamEvent.Type.UPDATED, code, "Feature " + code, FeatureStatus.IN_PROGRESS, null);
+    }
+}
@@ -0,0 +1,48 @@
+package com.sivalabs.ft.features.loadtest;
+
+/**
+ * How much synthetic data to generate. Every dimension multiplies the ones before it, e.g. the number of comments
+ * is {@code products * releasesPerProduct * featuresPerRelease * commentsPerFeature}.
+ */
+record DataVolume(
+        int products,
+        int releasesPerProduct,
+        int featuresPerRelease,
+        int commentsPerFeature,
+        int users,
+        int favoritesPerUser) {
+
+    static DataVolume fromSystemProperties() {
+        return new DataVolume(
+                Integer.getInteger("loadtest.products", 20),
+                Integer.getInteger("loadtest.releases-per-product", 10),
+                Integer.getInteger("loadtest.features-per-release", 100),
+                Integer.getInteger("loadtest.comments-per-feature", 5),
+                Integer.getInteger("loadtest.users", 1000),
+                Integer.getInteger("loadtest.favorites-per-user", 20));
+    }
+
+    int featuresPerProduct() {
+        return releasesPerProduct * featuresPerRelease;
+    }
+
+    long features() {
+        return (long) products * featuresPerProduct();
+    }
+
+    static String productCode(int product) {
+        return "load-" + product;
+    }
+
+    static String releaseCode(int product, int release) {
+        return "L" + product + "-R" + release;
+    }
+
+    static String featureCode(int product, int feature) {
+        return "L" + product + "-" + feature;
+    }
+
+    static String user(int user) {
+        return "load-user-" + user;
+    }
+}
@@ -0,0 +1,149 @@
+package com.sivalabs.ft.features.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Open-model load driver: requests are started at a fixed rate regardless of how long earlier ones take, each on
+ * its own virtual thread. Latency is measured from the moment a request was scheduled to start, so a stalled
+ * server shows up in the percentiles instead of silently lowering the request rate (coordinated omission).
+ */
+class LoadDriver {
+    private final HttpClient httpClient;
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+
+    LoadDriver(List<Scenario> scenarios) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.scenarios = scenarios;
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+    }
+
+    LoadReport run(int targetRps, Duration warmup, Duration duration) {
+        if (!warmup.isZero()) {
+            drive(targetRps, warmup);
+        }
+        Instant startedAt = Instant.now();
+        Map<String, LatencyRecorder> recorders = drive(targetRps, duration);
+        Map<String, LoadReport.EndpointStats> endpoints = new LinkedHashMap<>();
+        recorders.forEach((name, recorder) -> endpoints.put(name, recorder.stats(duration)));
+        return new LoadReport(startedAt, targetRps, duration.toSeconds(), endpoints);
+    }
+
+    private Map<String, LatencyRecorder> drive(int targetRps, Duration duration) {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        for (Scenario scenario : scenarios) {
+            recorders.put(scenario.name(), new LatencyRecorder());
+        }
+        long intervalNanos = 1_000_000_000L / targetRps;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduledAt = start + i * intervalNanos;
+                if (scheduledAt >= end) {
+                    break;
+                }
+                long delay = scheduledAt - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                Scenario scenario = pick();
+                LatencyRecorder recorder = recorders.get(scenario.name());
+                executor.execute(() -> execute(scenario, recorder, scheduledAt));
+            }
+        }
+        return recorders;
+    }
+
+    private void execute(Scenario scenario, LatencyRecorder recorder, long scheduledAt) {
+        boolean success;
+        try {
+            HttpRequest request = scenario.request().apply(ThreadLocalRandom.current());
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 400;
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        recorder.record(System.nanoTime() - scheduledAt, success);
+    }
+
+    private Scenario pick() {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            value -= scenario.weight();
+            if (value < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("No scenario for weight " + value);
+    }
+
+    /**
+     * A request type in the mix. The name identifies the endpoint in the report, e.g.
+     * {@code GET /api/features/{code}}; the weight is its share of the traffic relative to the other scenarios.
+     */
+    record Scenario(String name, int weight, Function<RandomGenerator, HttpRequest> request) {}
+
+    private static class LatencyRecorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        /**
+         * Records a request. Only successful requests count towards latency, so that fast rejections under
+         * overload do not hide how long the served requests took.
+         */
+        synchronized void record(long latencyNanos, boolean success) {
+            if (!success) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        synchronized LoadReport.EndpointStats stats(Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new LoadReport.EndpointStats(
+                    count + errors,
+                    errors,
+                    count / (duration.toNanos() / 1e9),
+                    percentileMillis(sorted, 0.50),
+                    percentileMillis(sorted, 0.99),
+                    percentileMillis(sorted, 0.999),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
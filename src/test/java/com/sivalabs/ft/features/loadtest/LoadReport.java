@@ -0,0 +1,73 @@
+package com.sivalabs.ft.features.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Latency and throughput of one load test run, per endpoint. Throughput and latencies (in milliseconds) are
+ * those of successful requests.
+ * {@code pinnedVirtualThreads} counts pinning events by the frame that caused them.
+ */
+record LoadReport(
+        Instant startedAt,
+        int targetRps,
+        long durationSeconds,
+        Map<String, EndpointStats> endpoints,
+        boolean virtualThreads,
+        Map<String, Long> pinnedVirtualThreads) {
+
+    record EndpointStats(
+            long requests,
+            long errors,
+            double throughput,
+            double p50Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis) {}
+
+    LoadReport(Instant startedAt, int targetRps, long durationSeconds, Map<String, EndpointStats> endpoints) {
+        this(startedAt, targetRps, durationSeconds, endpoints, false, Map.of());
+    }
+
+    LoadReport withThreading(boolean virtualThreads, Map<String, Long> pinnedVirtualThreads) {
+        return new LoadReport(startedAt, targetRps, durationSeconds, endpoints, virtualThreads, pinnedVirtualThreads);
+    }
+
+    long totalRequests() {
+        return endpoints.values().stream().mapToLong(EndpointStats::requests).sum();
+    }
+
+    void writeTo(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), this);
+    }
+
+    String summary() {
+        StringBuilder summary = new StringBuilder(String.format(
+                "%-40s %9s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50", "p99", "p999"));
+        endpoints.forEach((name, stats) -> summary.append(String.format(
+                "%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f%n",
+                name,
+                stats.requests(),
+                stats.errors(),
+                stats.throughput(),
+                stats.p50Millis(),
+                stats.p99Millis(),
+                stats.p999Millis())));
+        summary.append(virtualThreads ? "virtual threads" : "platform threads");
+        if (virtualThreads) {
+            summary.append(", pinned: ").append(pinnedVirtualThreads);
+        }
+        return summary.append(System.lineSeparator()).toString();
+    }
+}
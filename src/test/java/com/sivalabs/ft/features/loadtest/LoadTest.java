@@ -0,0 +1,188 @@
+package com.sivalabs.ft.features.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import com.sivalabs.ft.features.TestcontainersConfiguration;
+import com.sivalabs.ft.features.domain.ReferenceDataCache;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Generates a production-sized data set and runs a mixed read/write workload against the real HTTP endpoints.
+ * Disabled unless {@code -Dloadtest=true} is given, e.g.
+ * <pre>
+ * ./mvnw test -Dtest=LoadTest -Dloadtest=true -Dloadtest.rps=500 -Dloadtest.duration=PT2M -Dloadtest.products=50
+ * </pre>
+ * Data volume is set with the {@code loadtest.*} properties read by {@link DataVolume}. The report is printed and
+ * written as JSON to {@code target/load-tests} (or {@code -Dloadtest.output=<file>}) for comparison between runs.
+ * Add {@code -Dspring.threads.virtual.enabled=true} to compare with virtual threads; pinning of virtual threads
+ * longer than {@code loadtest.pinning-threshold} (default 1ms) is recorded in the report.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@Import({TestcontainersConfiguration.class, LoadTest.BearerTokenConfig.class})
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class LoadTest {
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+    private static final String[] STATUSES = {"NEW", "IN_PROGRESS", "ON_HOLD", "RELEASED"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void mixedReadWriteWorkload() throws Exception {
+        DataVolume volume = DataVolume.fromSystemProperties();
+        new SyntheticDataGenerator(dataSource).generate(volume);
+        referenceDataCache.reload();
+
+        int rps = Integer.getInteger("loadtest.rps", 200);
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        LoadReport report;
+        try (PinningMonitor pinning =
+                new PinningMonitor(Duration.parse(System.getProperty("loadtest.pinning-threshold", "PT0.001S")))) {
+            report = new LoadDriver(scenarios(volume))
+                    .run(rps, warmup, duration)
+                    .withThreading(virtualThreads, pinning.pinnedFrames());
+        }
+
+        Path output = Path.of(System.getProperty(
+                "loadtest.output",
+                "target/load-tests/load-test-" + Instant.now().getEpochSecond() + ".json"));
+        report.writeTo(output);
+        log.info("Load test report written to {}:\n{}", output, report.summary());
+        assertThat(report.totalRequests()).isPositive();
+    }
+
+    private List<LoadDriver.Scenario> scenarios(DataVolume volume) {
+        return List.of(
+                new LoadDriver.Scenario("GET /api/products", 5, random -> get("/api/products", null)),
+                new LoadDriver.Scenario(
+                        "GET /api/releases?productCode",
+                        5,
+                        random -> get(
+                                "/api/releases?productCode=" + DataVolume.productCode(product(random, volume)), null)),
+                new LoadDriver.Scenario(
+                        "GET /api/features?releaseCode",
+                        20,
+                        random -> get(
+                                "/api/features?releaseCode="
+                                        + DataVolume.releaseCode(
+                                                product(random, volume), random.nextInt(volume.releasesPerProduct())),
+                                user(random, volume))),
+                new LoadDriver.Scenario(
+                        "GET /api/features/{code}",
+                        30,
+                        random -> get("/api/features/" + featureCode(random, volume), user(random, volume))),
+                new LoadDriver.Scenario(
+                        "GET /api/comments?featureCode",
+                        20,
+                        random -> get("/api/comments?featureCode=" + featureCode(random, volume), null)),
+                new LoadDriver.Scenario(
+                        "POST /api/comments",
+                        10,
+                        random -> send(
+                                "POST",
+                                "/api/comments",
+                                user(random, volume),
+                                """
+                                {"featureCode": "%s", "content": "Load test comment"}
+                                """
+                                        .formatted(featureCode(random, volume)))),
+                new LoadDriver.Scenario("PUT /api/features/{code}", 5, random -> {
+                    int product = product(random, volume);
+                    int feature = random.nextInt(volume.featuresPerProduct());
+                    return send(
+                            "PUT",
+                            "/api/features/" + DataVolume.featureCode(product, feature),
+                            user(random, volume),
+                            """
+                            {"title": "Updated feature %d", "description": "Updated by the load test",
+                             "releaseCode": "%s", "assignedTo": "%s", "status": "%s"}
+                            """
+                                    .formatted(
+                                            feature,
+                                            DataVolume.releaseCode(product, feature / volume.featuresPerRelease()),
+                                            user(random, volume),
+                                            STATUSES[random.nextInt(STATUSES.length)]));
+                }));
+    }
+
+    private HttpRequest get(String path, String user) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path)).GET();
+        if (user != null) {
+            builder.header("Authorization", "Bearer " + user);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest send(String method, String path, String user, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + user)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static int product(RandomGenerator random, DataVolume volume) {
+        return random.nextInt(volume.products());
+    }
+
+    private static String featureCode(RandomGenerator random, DataVolume volume) {
+        return DataVolume.featureCode(product(random, volume), random.nextInt(volume.featuresPerProduct()));
+    }
+
+    private static String user(RandomGenerator random, DataVolume volume) {
+        return DataVolume.user(random.nextInt(volume.users()));
+    }
+
+    /**
+     * Accepts any bearer token and treats it as the username, so the driver needs no identity provider.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class BearerTokenConfig {
+        @Bean
+        JwtDecoder jwtDecoder() {
+            return token -> Jwt.withTokenValue(token)
+                    .header("alg", "none")
+                    .subject(token)
+                    .claim("preferred_username", token)
+                    .issuedAt(Instant.now())
+                    .expiresAt(Instant.now().plusSeconds(3600))
+                    .build();
+        }
+    }
+}
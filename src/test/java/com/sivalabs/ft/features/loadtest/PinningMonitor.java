@@ -0,0 +1,55 @@
+package com.sivalabs.ft.features.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Counts {@code jdk.VirtualThreadPinned} JFR events while the load runs, grouped by the first non-JDK frame of
+ * the pinned stack, so the report shows whether (and where) Hibernate, the JDBC driver or Kafka pin carriers.
+ */
+final class PinningMonitor implements AutoCloseable {
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private final RecordingStream stream = new RecordingStream();
+    private final Map<String, LongAdder> pinnedFrames = new ConcurrentHashMap<>();
+
+    PinningMonitor(Duration threshold) {
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+    }
+
+    Map<String, Long> pinnedFrames() {
+        Map<String, Long> counts = new TreeMap<>();
+        pinnedFrames.forEach((frame, count) -> counts.put(frame, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private void record(RecordedEvent event) {
+        pinnedFrames.computeIfAbsent(frame(event), key -> new LongAdder()).increment();
+    }
+
+    private static String frame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,183 @@
+package com.sivalabs.ft.features.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.kafka.KafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Compares the time from JVM launch to the first successful API response of the plain jar with the
+ * AOT-processed, CDS-backed jar produced by the {@code fast-startup} profile. Run by that profile in the
+ * {@code integration-test} phase:
+ * <pre>
+ * ./mvnw -Pfast-startup verify -Dtest=StartupTimeTests
+ * </pre>
+ * The application is started {@code startup.runs} times (default 3) in each mode against Testcontainers, or
+ * against the database and broker given by the {@code DB_URL} and {@code KAFKA_BROKER} environment variables.
+ * Medians are printed and written as JSON to {@code target/startup}.
+ */
+@EnabledIfSystemProperty(named = "startuptest", matches = "true")
+class StartupTimeTests {
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeTests.class);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Path OUTPUT_DIR = Path.of("target", "startup");
+
+    private static final HttpClient httpClient =
+            HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private static final Map<String, String> environment = new HashMap<>();
+    private static PostgreSQLContainer<?> postgres;
+    private static KafkaContainer kafka;
+
+    @BeforeAll
+    static void startInfrastructure() {
+        if (System.getenv("DB_URL") != null) {
+            return;
+        }
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+        kafka = new KafkaContainer(DockerImageName.parse("apache/kafka-native:3.8.0"));
+        postgres.start();
+        kafka.start();
+        environment.put("DB_URL", postgres.getJdbcUrl());
+        environment.put("DB_USERNAME", postgres.getUsername());
+        environment.put("DB_PASSWORD", postgres.getPassword());
+        environment.put("KAFKA_BROKER", kafka.getBootstrapServers());
+    }
+
+    @AfterAll
+    static void stopInfrastructure() {
+        if (kafka != null) {
+            kafka.stop();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    void fastStartupBuildServesFirstRequestSooner() throws Exception {
+        int runs = Integer.getInteger("startup.runs", 3);
+        Path jar = Path.of(System.getProperty("startup.jar"));
+        Path fastJar = Path.of(System.getProperty("startup.fast-jar"));
+        List<String> fastJvmArgs =
+                Arrays.asList(System.getProperty("startup.fast-jvm-args").split("\\s+"));
+
+        List<Long> baselineMillis = new ArrayList<>();
+        List<Long> fastMillis = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            baselineMillis.add(timeToFirstRequest("baseline-" + i, jar, List.of()));
+            fastMillis.add(timeToFirstRequest("fast-" + i, fastJar, fastJvmArgs));
+        }
+
+        StartupReport report = new StartupReport(
+                Instant.now(), baselineMillis, median(baselineMillis), fastMillis, median(fastMillis));
+        Path output = OUTPUT_DIR.resolve("startup-" + report.finishedAt().getEpochSecond() + ".json");
+        new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(output.toFile(), report);
+        log.info(
+                "Time to first request: baseline {} ms (median of {}), fast-startup {} ms (median of {}); written to {}",
+                report.baselineMedianMillis(),
+                baselineMillis,
+                report.fastMedianMillis(),
+                fastMillis,
+                output);
+        assertThat(report.fastMedianMillis()).isLessThan(report.baselineMedianMillis());
+    }
+
+    /**
+     * Launches the jar and polls a public endpoint until it answers with 200.
+     */
+    private long timeToFirstRequest(String name, Path jar, List<String> jvmArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", jar.toString(), "--server.port=" + port));
+        Files.createDirectories(OUTPUT_DIR);
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(OUTPUT_DIR.resolve(name + ".log").toFile());
+        builder.environment().putAll(environment);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see "
+                            + OUTPUT_DIR.resolve(name + ".log"));
+                }
+                if (isUp(request)) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(name + " did not answer within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean isUp(HttpRequest request) throws InterruptedException {
+        try {
+            return httpClient
+                            .send(request, HttpResponse.BodyHandlers.discarding())
+                            .statusCode()
+                    == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+
+    record StartupReport(
+            Instant finishedAt,
+            List<Long> baselineMillis,
+            long baselineMedianMillis,
+            List<Long> fastMillis,
+            long fastMedianMillis) {}
+}
@@ -0,0 +1,233 @@
+package com.sivalabs.ft.features.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bulk-loads a synthetic data set with {@code COPY ... FROM STDIN}, next to whatever data already exists.
+ * Generated rows use ids from {@link #ID_OFFSET} upwards; the id sequences are moved past them afterwards so the
+ * application can keep inserting.
+ */
+class SyntheticDataGenerator {
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+    static final long ID_OFFSET = 10_000_000L;
+    private static final String[] FEATURE_STATUSES = {"NEW", "IN_PROGRESS", "ON_HOLD", "RELEASED"};
+    private static final Instant BASE_TIME = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Map<String, String> ID_SEQUENCES = Map.of(
+            "product_id_seq", "products",
+            "release_id_seq", "releases",
+            "feature_id_seq", "features",
+            "comment_id_seq", "comments",
+            "favorite_features_id_seq", "favorite_features");
+
+    private final DataSource dataSource;
+
+    SyntheticDataGenerator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    void generate(DataVolume volume) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            copyProducts(copyManager, volume);
+            copyReleases(copyManager, volume);
+            copyFeatures(copyManager, volume);
+            copyComments(copyManager, volume);
+            copyFavorites(copyManager, volume);
+            try (Statement statement = connection.createStatement()) {
+                for (Map.Entry<String, String> sequence : ID_SEQUENCES.entrySet()) {
+                    statement.execute("select setval('%s', (select max(id) from %s))"
+                            .formatted(sequence.getKey(), sequence.getValue()));
+                }
+                // new features of a generated product must not reuse the generated codes
+                statement.execute(
+                        "select setval('feature_code_seq', greatest((select last_value from feature_code_seq), %d))"
+                                .formatted(volume.featuresPerProduct()));
+                statement.execute("analyze");
+            }
+        }
+        log.info("Generated {} features in {} ms", volume.features(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void copyProducts(CopyManager copyManager, DataVolume volume) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(
+                copyManager, "products (id, code, prefix, name, description, image_url, created_by, created_at)")) {
+            for (int p = 0; p < volume.products(); p++) {
+                writer.row(
+                        productId(p),
+                        DataVolume.productCode(p),
+                        "L" + p,
+                        "Load Product " + p,
+                        "Synthetic product " + p,
+                        "https://example.com/load-" + p + ".png",
+                        "admin",
+                        BASE_TIME);
+            }
+        }
+    }
+
+    private void copyReleases(CopyManager copyManager, DataVolume volume) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(
+                copyManager, "releases (id, product_id, code, description, status, created_by, created_at)")) {
+            for (int p = 0; p < volume.products(); p++) {
+                for (int r = 0; r < volume.releasesPerProduct(); r++) {
+                    writer.row(
+                            releaseId(volume, p, r),
+                            productId(p),
+                            DataVolume.releaseCode(p, r),
+                            "Release " + r + " of product " + p,
+                            r == volume.releasesPerProduct() - 1 ? "DRAFT" : "RELEASED",
+                            "admin",
+                            BASE_TIME.plus(r, ChronoUnit.DAYS));
+                }
+            }
+        }
+    }
+
+    private void copyFeatures(CopyManager copyManager, DataVolume volume) throws SQLException {
+        try (CopyWriter writer = new CopyWriter(
+                copyManager,
+                "features (id, code, title, description, status, assigned_to, product_id, release_id, created_by, "
+                        + "created_at, comment_count, last_commented_at)")) {
+            for (int p = 0; p < volume.products(); p++) {
+                for (int f = 0; f < volume.featuresPerProduct(); f++) {
+                    long id = featureId(volume, p, f);
+                    Instant createdAt = BASE_TIME.plusSeconds(id - ID_OFFSET);
+                    writer.row(
+                            id,
+                            DataVolume.featureCode(p, f),
+                            "Synthetic feature " + f + " of product " + p,
+                            "Generated for load testing, with a description long enough to be representative.",
+                            FEATURE_STATUSES[f % FEATURE_STATUSES.length],
+                            DataVolume.user(f % volume.users()),
+                            productId(p),
+                            releaseId(volume, p, f / volume.featuresPerRelease()),
+                            "admin",
+                            createdAt,
+                            volume.commentsPerFeature(),
+                            volume.commentsPerFeature() == 0
+                                    ? null
+                                    : createdAt.plus(volume.commentsPerFeature(), ChronoUnit.MINUTES));
+                }
+            }
+        }
+    }
+
+    private void copyComments(CopyManager copyManager, DataVolume volume) throws SQLException {
+        try (CopyWriter writer =
+                new CopyWriter(copyManager, "comments (id, feature_id, created_by, content, created_at)")) {
+            long id = ID_OFFSET;
+            for (int p = 0; p < volume.products(); p++) {
+                for (int f = 0; f < volume.featuresPerProduct(); f++) {
+                    long featureId = featureId(volume, p, f);
+                    Instant createdAt = BASE_TIME.plusSeconds(featureId - ID_OFFSET);
+                    for (int c = 1; c <= volume.commentsPerFeature(); c++) {
+                        writer.row(
+                                id++,
+                                featureId,
+                                DataVolume.user((f + c) % volume.users()),
+                                "Comment " + c + " on feature " + f,
+                                createdAt.plus(c, ChronoUnit.MINUTES));
+                    }
+                }
+            }
+        }
+    }
+
+    private void copyFavorites(CopyManager copyManager, DataVolume volume) throws SQLException {
+        int favoritesPerUser = (int) Math.min(volume.favoritesPerUser(), volume.features());
+        try (CopyWriter writer = new CopyWriter(copyManager, "favorite_features (id, feature_id, user_id)")) {
+            long id = ID_OFFSET;
+            for (int u = 0; u < volume.users(); u++) {
+                for (int i = 0; i < favoritesPerUser; i++) {
+                    // spread each user's favorites evenly over all features
+                    long feature = ((long) u + (long) i * volume.features() / favoritesPerUser) % volume.features();
+                    writer.row(id++, ID_OFFSET + feature, DataVolume.user(u));
+                }
+            }
+        }
+    }
+
+    private static long productId(int product) {
+        return ID_OFFSET + product;
+    }
+
+    private static long releaseId(DataVolume volume, int product, int release) {
+        return ID_OFFSET + (long) product * volume.releasesPerProduct() + release;
+    }
+
+    private static long featureId(DataVolume volume, int product, int feature) {
+        return ID_OFFSET + (long) product * volume.featuresPerProduct() + feature;
+    }
+
+    /**
+     * Streams CSV rows into a {@code COPY FROM STDIN}, flushing in chunks so memory stays flat for any volume.
+     */
+    private static class CopyWriter implements AutoCloseable {
+        private static final int FLUSH_THRESHOLD = 1 << 16;
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+
+        CopyWriter(CopyManager copyManager, String target) throws SQLException {
+            this.copyIn = copyManager.copyIn("copy " + target + " from stdin (format csv)");
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                appendValue(values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                flush();
+            }
+        }
+
+        private void appendValue(Object value) {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof Number || value instanceof Instant) {
+                buffer.append(value);
+                return;
+            }
+            buffer.append('"');
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"') {
+                    buffer.append('"');
+                }
+                buffer.append(c);
+            }
+            buffer.append('"');
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            flush();
+            copyIn.endCopy();
+        }
+    }
+}
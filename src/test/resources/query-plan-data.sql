@@ -0,0 +1,40 @@
+insert into products (id, code, prefix, name, image_url, created_by)
+select 1000 + p, 'plan-product-' || p, 'PP' || p, 'Plan Product ' || p, 'https://example.com/' || p || '.png', 'admin'
+from generate_series(1, 200) p;
+
+insert into releases (id, product_id, code, status, created_by)
+select 10000 + (p - 1) * 20 + r, 1000 + p, 'PP' || p || '-' || r, 'RELEASED', 'admin'
+from generate_series(1, 200) p, generate_series(1, 20) r;
+
+insert into features (id, code, title, status, product_id, release_id, assigned_to, created_by)
+select 100000 + g,
+       'PF-' || g,
+       'Feature ' || g,
+       (array ['NEW', 'IN_PROGRESS', 'ON_HOLD', 'RELEASED'])[1 + g % 4],
+       1001 + g % 200,
+       case when g % 10 = 0 then null else 10001 + (g % 200) * 20 + (g / 200) % 20 end,
+       'user-' || g % 500,
+       'admin'
+from generate_series(1, 100000) g;
+
+insert into release_feature_stats (release_id, status, feature_count)
+select release_id, status, count(*)
+from features
+where release_id > 10000
+group by release_id, status;
+
+insert into comments (id, feature_id, created_by, content)
+select 1000000 + g, 100001 + g % 100000, 'user-' || g % 500, 'Comment ' || g
+from generate_series(1, 200000) g;
+
+insert into favorite_features (id, feature_id, user_id)
+select 1000000 + g, 100000 + g, 'user-' || g % 1000
+from generate_series(1, 50000) g;
+
+analyze products;
+analyze releases;
+analyze features;
+analyze release_feature_stats;
+analyze comments;
+analyze favorite_features;
+analyze favorite_feature_changes;
@@ -3,6 +3,8 @@ delete from comments;
 delete from features;
 delete from releases;
 delete from products;
+delete from feature_tombstones;
+update feature_tombstone_horizon set change_seq = 0;
 
 insert into products (id, code, prefix, name, description, image_url, disabled, created_by, created_at) values
 (1, 'intellij', 'IDEA', 'IntelliJ IDEA', 'JetBrains IDE for Java', 'https://resources.jetbrains.com/storage/products/company/brand/logos/IntelliJ_IDEA.png', false, 'admin', '2024-03-01 00:00:00'),
@@ -27,10 +29,23 @@ insert into features (id, product_id, release_id, code, title, description, stat
 (3, 2, null, 'GO-3', 'Make Go to Type and Go to Symbol dumb aware', 'Make Go to Type and Go to Symbol dumb aware', 'IN_PROGRESS', 'antonarhipov', 'andreybelyaev', '2024-01-14')
 ;
 
+insert into release_feature_stats (release_id, status, feature_count)
+select release_id, status, count(*)
+from features
+where release_id is not null
+group by release_id, status;
+
 insert into favorite_features (id, feature_id, user_id) values
 (1, 2, 'user');
 
 insert into comments (id, feature_id, created_by, content) values
 (1, 1, 'user', 'This is a comment on feature IDEA-1'),
 (2,  1, 'user', 'This is a comment on feature IDEA-2'),
-(3, 1, 'user', 'This is a comment on feature GO-3');
\ No newline at end of file
+(3, 1, 'user', 'This is a comment on feature GO-3');
+update features f
+set comment_count     = c.cnt,
+    last_commented_at = c.last_created_at
+from (select feature_id, count(*) as cnt, max(created_at) as last_created_at
+      from comments
+      group by feature_id) c
+where f.id = c.feature_id;